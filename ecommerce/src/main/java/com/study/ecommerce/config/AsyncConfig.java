@@ -0,0 +1,62 @@
+package com.study.ecommerce.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    @Value("${order.payment.executor.core-pool-size:4}")
+    private int corePoolSize;
+
+    @Value("${order.payment.executor.max-pool-size:16}")
+    private int maxPoolSize;
+
+    @Value("${order.payment.executor.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${auth.password-hash.executor.pool-size:4}")
+    private int passwordHashPoolSize;
+
+    @Value("${auth.password-hash.executor.queue-capacity:64}")
+    private int passwordHashQueueCapacity;
+
+    //결제(PG) 호출 전용 스레드풀 -> 주문 트랜잭션/상품 락과 분리해서 실행
+    @Bean(name = "paymentTaskExecutor")
+    public Executor paymentTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("payment-");
+        //큐가 가득 차면 호출한 스레드에서 직접 실행 (결제 요청 유실 방지)
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 비밀번호 해시(BCrypt) 전용 스레드풀
+     * 로그인 폭주 시에도 해시 계산은 이 풀 크기만큼만 CPU 를 쓰고, 큐가 가득 차면 바로 거절한다 (429)
+     */
+    @Bean(name = "passwordHashExecutor")
+    public ThreadPoolTaskExecutor passwordHashExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(passwordHashPoolSize);
+        executor.setMaxPoolSize(passwordHashPoolSize);
+        executor.setQueueCapacity(passwordHashQueueCapacity);
+        executor.setThreadNamePrefix("password-hash-");
+        //CallerRunsPolicy 를 쓰면 요청 스레드에서 해시를 계산하게 되므로 거절
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+}
@@ -1,8 +1,12 @@
 package com.study.ecommerce.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.ecommerce.global.ratelimit.RateLimitFilter;
+import com.study.ecommerce.global.ratelimit.RateLimiter;
 import com.study.ecommerce.global.security.JwtAuthenticationFilter;
 import com.study.ecommerce.global.security.JwtTokenProvider;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -28,6 +32,12 @@ import java.util.List;
 @RequiredArgsConstructor
 public class SecurityConfig {
     private final JwtTokenProvider jwtTokenProvider;
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    //올리면 기존 해시는 다음 로그인 때 새 strength 로 재생성된다
+    @Value("${auth.password-hash.bcrypt-strength:10}")
+    private int bcryptStrength;
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
@@ -48,13 +58,18 @@ public class SecurityConfig {
                                 "/swagger-ui/**", "/swagger-ui.html", "/v3/api-docs/**",
                                 "/swagger-resources/**", "/webjars/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/v1/categories", "/api/v1/categories/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/v1/products", "/api/v1/products/**").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .requestMatchers("/api/v1/admin/**").hasRole("ADMIN")
                         .requestMatchers("/api/v1/seller/**").hasAnyRole("SELLER", "ADMIN")
                         .anyRequest().authenticated()
                 )
                 //로그인 폼 방식전에 JWT로 먼저 인증 수행
                 .addFilterBefore(new JwtAuthenticationFilter(jwtTokenProvider),
-                        UsernamePasswordAuthenticationFilter.class);
+                        UsernamePasswordAuthenticationFilter.class)
+                //인증 결과(회원 id)를 보고 제한해야 하므로 JWT 필터 바로 다음
+                .addFilterAfter(new RateLimitFilter(rateLimiter, objectMapper), JwtAuthenticationFilter.class);
         //h2db를 손쉽게 사용하기 위함
         http.headers(headers -> headers.frameOptions(HeadersConfigurer.FrameOptionsConfig::disable));
 
@@ -68,7 +83,8 @@ public class SecurityConfig {
         configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
 
         //authorization: JWT 토큰 전송할때 사e용, content-type: JSON등 본문 데이터 형식 명시, x-auth-token:사용자 정의 헤더
-        configuration.setAllowedHeaders(List.of("authorization", "content-type", "x-auth-token"));
+        //idempotency-key: 주문 재시도 시 중복 주문 방지용 키
+        configuration.setAllowedHeaders(List.of("authorization", "content-type", "x-auth-token", "idempotency-key"));
 
         //서버 응답에서 브라우저가 접근 가능한 헤더 지정
         configuration.setExposedHeaders(List.of("x-auth-token"));
@@ -81,7 +97,7 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
 
 
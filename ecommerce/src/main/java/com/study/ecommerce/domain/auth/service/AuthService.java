@@ -9,23 +9,27 @@ import com.study.ecommerce.global.error.ErrorCode;
 import com.study.ecommerce.global.error.exception.BusinessException;
 import com.study.ecommerce.global.error.exception.EntityNotFoundException;
 import com.study.ecommerce.global.security.JwtTokenProvider;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.Collections;
 
+/**
+ * 회원 가입/로그인
+ * BCrypt 해시/검증은 전용 스레드풀을 기다릴 수 있으므로 트랜잭션(DB 커넥션) 밖에서 하고,
+ * DB 작업은 짧은 조회/저장 하나씩만 한다
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class AuthService {
     private final MemberRepository memberRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashService passwordHashService;
     private final JwtTokenProvider jwtTokenProvider;
 
-    @Transactional
     public void signUp(SignUpRequest request) {
         if (memberRepository.existsByEmail(request.email())) {
             throw new BusinessException(ErrorCode.EMAIL_DUPLICATION);
@@ -33,26 +37,38 @@ public class AuthService {
 
         Member member = Member.builder()
                 .email(request.email())
-                .password(passwordEncoder.encode(request.password()))
+                .password(passwordHashService.encode(request.password()))
                 .name(request.name())
                 .address(request.address())
                 .role(Member.Role.CUSTOMER)
                 .build();
 
-        memberRepository.save(member);
+        //해시하는 사이에 같은 이메일로 먼저 가입한 경우 (email UNIQUE)
+        try {
+            memberRepository.save(member);
+        } catch (DataIntegrityViolationException e) {
+            throw new BusinessException(ErrorCode.EMAIL_DUPLICATION);
+        }
     }
 
-    @Transactional
     public TokenResponse login(LoginRequest request) {
         Member member = memberRepository.findByEmail(request.email())
                 .orElseThrow(() -> new EntityNotFoundException(ErrorCode.MEMBER_NOT_FOUND));
 
-        if (!passwordEncoder.matches(request.password(), member.getPassword())) {
+        //BCrypt 검증은 전용 스레드풀에서 (포화 시 429)
+        if (!passwordHashService.matches(request.password(), member.getPassword())) {
             throw new BadCredentialsException("로그인에 실패하였습니다.");
         }
 
+        //work factor 가 올라간 경우 평문을 알고 있는 지금 새 해시로 교체 (일괄 마이그레이션 불필요)
+        if (passwordHashService.needsRehash(member.getPassword())) {
+            rehash(member, request.password());
+        }
+
+        //회원 id 를 토큰에 담아서 이후 요청은 이메일로 회원을 다시 조회하지 않는다
         String token = jwtTokenProvider.createToken(
                 member.getEmail(),
+                member.getId(),
                 Collections.singletonList(member.getRole().name())
         );
 
@@ -65,4 +81,14 @@ public class AuthService {
         );
     }
 
+    //재해시는 부가 작업이라 풀이 포화돼도 로그인은 성공시키고 다음 로그인 때 다시 시도
+    //새 해시를 만든 뒤 UPDATE 한 번만 트랜잭션으로 실행
+    private void rehash(Member member, String rawPassword) {
+        try {
+            String newHash = passwordHashService.encode(rawPassword);
+            memberRepository.updatePasswordHash(member.getId(), member.getPassword(), newHash);
+        } catch (BusinessException e) {
+            log.warn("비밀번호 재해시 보류 memberId={}", member.getId());
+        }
+    }
 }
@@ -0,0 +1,97 @@
+package com.study.ecommerce.domain.auth.service;
+
+import com.study.ecommerce.global.error.ErrorCode;
+import com.study.ecommerce.global.error.exception.BusinessException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 비밀번호 해시/검증을 전용 스레드풀에서 실행
+ * Tomcat 요청 스레드는 결과만 기다리고, 풀이 포화되면 해시를 계산하지 않고 바로 LOGIN_THROTTLED(429)
+ * 메트릭: auth.password-hash.queue.depth, auth.password-hash.active, auth.password-hash.rejected
+ */
+@Service
+public class PasswordHashService {
+    private final PasswordEncoder passwordEncoder;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolTaskExecutor passwordHashExecutor;
+
+    @Value("${auth.password-hash.timeout-ms:2000}")
+    private long timeoutMs;
+
+    private Counter rejectedCounter;
+
+    public PasswordHashService(PasswordEncoder passwordEncoder,
+                               MeterRegistry meterRegistry,
+                               @Qualifier("passwordHashExecutor") ThreadPoolTaskExecutor passwordHashExecutor) {
+        this.passwordEncoder = passwordEncoder;
+        this.meterRegistry = meterRegistry;
+        this.passwordHashExecutor = passwordHashExecutor;
+    }
+
+    @PostConstruct
+    void initMetrics() {
+        Gauge.builder("auth.password-hash.queue.depth", passwordHashExecutor,
+                        executor -> executor.getThreadPoolExecutor().getQueue().size())
+                .description("대기 중인 비밀번호 해시 작업 수")
+                .register(meterRegistry);
+        Gauge.builder("auth.password-hash.active", passwordHashExecutor, ThreadPoolTaskExecutor::getActiveCount)
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("auth.password-hash.rejected")
+                .description("풀 포화/대기 시간 초과로 거절된 요청 수")
+                .register(meterRegistry);
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return execute(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    public String encode(String rawPassword) {
+        return execute(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    //저장된 해시의 work factor 가 현재 설정보다 낮으면 true
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T execute(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = passwordHashExecutor.submit(task);
+        } catch (TaskRejectedException e) {
+            rejectedCounter.increment();
+            throw new BusinessException(ErrorCode.LOGIN_THROTTLED);
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedCounter.increment();
+            throw new BusinessException(ErrorCode.LOGIN_THROTTLED);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("비밀번호 해시 대기 중 인터럽트", e);
+        }
+    }
+}
@@ -12,7 +12,8 @@ import lombok.NoArgsConstructor;
 public class CartItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cart_item_seq_generator")
+    @SequenceGenerator(name = "cart_item_seq_generator", sequenceName = "cart_item_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "cart_id", nullable = false)
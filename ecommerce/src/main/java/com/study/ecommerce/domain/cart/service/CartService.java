@@ -9,4 +9,10 @@ public interface CartService {
     CartItemResponse addCartItem(CartItemRequest request, String email);
     CartItemResponse updateCartItem(Long cartItemId, CartItemRequest request, String email);
     void removeCartItem(Long cartItemId, String email);
+
+    //인증 principal 의 회원 id 를 바로 사용 (이메일로 회원 조회 생략)
+    CartResponse getCart(Long memberId);
+    CartItemResponse addCartItem(CartItemRequest request, Long memberId);
+    CartItemResponse updateCartItem(Long cartItemId, CartItemRequest request, Long memberId);
+    void removeCartItem(Long cartItemId, Long memberId);
 }
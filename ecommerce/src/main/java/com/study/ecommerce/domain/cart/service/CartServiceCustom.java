@@ -17,7 +17,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -32,19 +34,28 @@ public class CartServiceCustom implements CartService{
     @Override
     @Transactional(readOnly = true)
     public CartResponse getCart(String email) {
-        Member member = memberRepository.findByEmail(email)
-                .orElseThrow(() -> new EntityNotFoundException("사용자를 찾을 수 없습니다."));
+        return getCart(findMemberId(email));
+    }
 
-        Cart cart = cartRepository.findByMemberId(member.getId())
+    @Override
+    @Transactional(readOnly = true)
+    public CartResponse getCart(Long memberId) {
+        Cart cart = cartRepository.findByMemberId(memberId)
                 .orElseThrow(() -> new EntityNotFoundException("장바구니를 찾을 수 없습니다."));
 
         // 장바구니의 아이템을 별도로 조회
         List<CartItem> cartItems = cartItemRepository.findByCartId(cart.getId());
 
+        //상품은 IN 쿼리 한 번으로 조회
+        Map<Long, Product> products = productRepository.findAllByIdAsMap(
+                cartItems.stream().map(CartItem::getProductId).collect(Collectors.toSet()));
+
         List<CartItemResponse> items = cartItems.stream()
                 .map(item -> {
-                    Product product = productRepository.findById(item.getProductId())
-                            .orElseThrow(() -> new EntityNotFoundException("상품을 찾을 수 없습니다."));
+                    Product product = products.get(item.getProductId());
+                    if (product == null) {
+                        throw new EntityNotFoundException("상품을 찾을 수 없습니다.");
+                    }
 
                     return new CartItemResponse(
                             item.getId(),
@@ -67,12 +78,15 @@ public class CartServiceCustom implements CartService{
     @Override
     @Transactional
     public CartItemResponse addCartItem(CartItemRequest request, String email) {
-        Member member = memberRepository.findByEmail(email)
-                .orElseThrow(() -> new EntityNotFoundException("사용자를 찾을 수 없습니다."));
+        return addCartItem(request, findMemberId(email));
+    }
 
-        Cart cart = cartRepository.findByMemberId(member.getId())
+    @Override
+    @Transactional
+    public CartItemResponse addCartItem(CartItemRequest request, Long memberId) {
+        Cart cart = cartRepository.findByMemberId(memberId)
                 .orElseGet(() -> {
-                    Cart newCart = new Cart(member.getId());
+                    Cart newCart = new Cart(memberId);
                     return cartRepository.save(newCart);
                 });
 
@@ -110,13 +124,15 @@ public class CartServiceCustom implements CartService{
 
     @Override
     public CartItemResponse updateCartItem(Long cartItemId, CartItemRequest request, String email) {
-        Member member = memberRepository.findByEmail(email)
-                .orElseThrow(() -> new EntityNotFoundException("사용자를 찾을 수 없습니다."));
+        return updateCartItem(cartItemId, request, findMemberId(email));
+    }
 
+    @Override
+    public CartItemResponse updateCartItem(Long cartItemId, CartItemRequest request, Long memberId) {
         CartItem cartItem = cartItemRepository.findById(cartItemId)
                 .orElseThrow(() -> new EntityNotFoundException("장바구니 항목을 찾을 수 없습니다."));
 
-        Cart cart = cartRepository.findByMemberId(member.getId())
+        Cart cart = cartRepository.findByMemberId(memberId)
                 .orElseThrow(() -> new EntityNotFoundException("장바구니를 찾을 수 없습니다."));
 
         if (!cartItem.getCartId().equals(cart.getId())) {
@@ -140,10 +156,12 @@ public class CartServiceCustom implements CartService{
 
     @Override
     public void removeCartItem(Long cartItemId, String email) {
-        Member member = memberRepository.findByEmail(email)
-                .orElseThrow(() -> new EntityNotFoundException("사용자를 찾을 수 없습니다."));
+        removeCartItem(cartItemId, findMemberId(email));
+    }
 
-        Cart cart = cartRepository.findByMemberId(member.getId())
+    @Override
+    public void removeCartItem(Long cartItemId, Long memberId) {
+        Cart cart = cartRepository.findByMemberId(memberId)
                 .orElseThrow(() -> new EntityNotFoundException("장바구니를 찾을 수 없습니다."));
 
         CartItem cartItem = cartItemRepository.findById(cartItemId)
@@ -155,4 +173,10 @@ public class CartServiceCustom implements CartService{
 
         cartItemRepository.delete(cartItem);
     }
+
+    private Long findMemberId(String email) {
+        return memberRepository.findByEmail(email)
+                .map(Member::getId)
+                .orElseThrow(() -> new EntityNotFoundException("사용자를 찾을 수 없습니다."));
+    }
 }
@@ -7,6 +7,8 @@ public record CategoryResponse(
         String name,
         Integer depth,
         Long parentId,
+        //하위 카테고리까지 합산한 판매중 상품 수
+        Long productCount,
         List<CategoryResponse> children
 ) {
 }
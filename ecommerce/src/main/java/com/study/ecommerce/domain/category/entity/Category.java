@@ -13,7 +13,8 @@ import lombok.NoArgsConstructor;
 public class Category {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "category_seq_generator")
+    @SequenceGenerator(name = "category_seq_generator", sequenceName = "category_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -26,6 +27,9 @@ public class Category {
     @Column(name = "parent_id")
     private Long parentId;
 
+    // 루트부터 자신까지의 id 경로 (/1/3/7/) -> 하위 트리 = path LIKE '/1/3/%'
+    private String path;
+
     @Builder
     //ID는 자동 생성 되기때문에 생성자로 받지 않는다.
     public Category(String name, Integer depth, Long parentId) {
@@ -34,4 +38,14 @@ public class Category {
         this.parentId = parentId;
     }
 
+    //id 가 생성된 뒤 호출 (parentPath 가 null 이면 최상위)
+    public void assignPath(String parentPath) {
+        this.path = (parentPath == null ? "/" : parentPath) + id + "/";
+    }
+
+    public void update(String name, Long parentId, Integer depth) {
+        this.name = name;
+        this.parentId = parentId;
+        this.depth = depth;
+    }
 }
@@ -0,0 +1,7 @@
+package com.study.ecommerce.domain.category.event;
+
+//카테고리 생성/수정/삭제 (커밋 후 카테고리 트리 스냅샷 교체)
+public record CategoryChangedEvent(
+        Long categoryId
+) {
+}
@@ -0,0 +1,5 @@
+package com.study.ecommerce.domain.category.repository;
+
+//카테고리 이름 사전용 (id, 이름만 조회)
+public record CategoryName(Long id, String name) {
+}
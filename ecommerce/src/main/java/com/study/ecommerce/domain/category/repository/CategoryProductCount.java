@@ -0,0 +1,5 @@
+package com.study.ecommerce.domain.category.repository;
+
+//카테고리별 판매중(ACTIVE) 상품 수
+public record CategoryProductCount(Long categoryId, Long count) {
+}
@@ -1,7 +1,9 @@
 package com.study.ecommerce.domain.category.repository;
 
 import com.study.ecommerce.domain.category.entity.Category;
+import com.study.ecommerce.domain.product.entity.Product.ProductStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -13,4 +15,33 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
 
     @Query("SELECT COUNT(p) FROM Product p WHERE p.categoryId = :categoryId")
     Long countProductsByCategory(@Param("categoryId") Long id);
+
+    //카테고리 이름 사전 재구성용
+    @Query("SELECT new com.study.ecommerce.domain.category.repository.CategoryName(c.id, c.name) FROM Category c")
+    List<CategoryName> findAllNames();
+
+    //카테고리별 상품 수 재집계용
+    @Query("SELECT new com.study.ecommerce.domain.category.repository.CategoryProductCount(p.categoryId, COUNT(p)) " +
+            "FROM Product p WHERE p.status = :status AND p.categoryId IS NOT NULL GROUP BY p.categoryId")
+    List<CategoryProductCount> countProductsGroupByCategory(@Param("status") ProductStatus status);
+
+    /**
+     * descendantId 가 ancestorId 의 하위 트리에 속하는지 (자기 자신 포함) - 쿼리 한 번
+     */
+    @Query("SELECT COUNT(d) > 0 FROM Category d, Category a " +
+            "WHERE a.id = :ancestorId AND d.id = :descendantId AND d.path LIKE CONCAT(a.path, '%')")
+    boolean isDescendant(@Param("ancestorId") Long ancestorId, @Param("descendantId") Long descendantId);
+
+    /**
+     * 카테고리 이동 시 하위 카테고리 경로/깊이를 UPDATE 한 번으로 변경 (path 인덱스 범위)
+     * 이동한 카테고리 자신은 엔티티로 변경하고 먼저 flush 한다
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Category c SET " +
+            "c.path = CONCAT(:newPath, SUBSTRING(c.path, LENGTH(:oldPath) + 1)), " +
+            "c.depth = c.depth + :depthDelta " +
+            "WHERE c.path LIKE CONCAT(:oldPath, '%') AND c.path <> :oldPath")
+    int moveSubtree(@Param("oldPath") String oldPath,
+                    @Param("newPath") String newPath,
+                    @Param("depthDelta") int depthDelta);
 }
@@ -0,0 +1,65 @@
+package com.study.ecommerce.domain.category.service;
+
+import com.study.ecommerce.domain.category.event.CategoryChangedEvent;
+import com.study.ecommerce.domain.category.repository.CategoryName;
+import com.study.ecommerce.domain.category.repository.CategoryRepository;
+import com.study.ecommerce.global.common.LongObjectHashMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * 카테고리 id -> 이름 공용 사전
+ * 상품 목록/상세를 ProductResponse 로 바꿀 때 카테고리 쿼리 없이 이름을 찾는다
+ * 카테고리 변경이 커밋되면 새 사전을 만들어 참조를 교체한다 (읽기는 volatile 참조 하나)
+ */
+@Component
+@RequiredArgsConstructor
+public class CategoryNameDictionary {
+    private final CategoryRepository categoryRepository;
+
+    private volatile LongObjectHashMap<String> names;
+
+    /**
+     * @return 카테고리가 없거나(null) 사전에 없으면 defaultName
+     */
+    public String nameOf(Long categoryId, String defaultName) {
+        if (categoryId == null) {
+            return defaultName;
+        }
+        String name = current().get(categoryId);
+        return name != null ? name : defaultName;
+    }
+
+    //categoryId 가 null 이면 false
+    public boolean contains(Long categoryId) {
+        return categoryId != null && current().containsKey(categoryId);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        refresh();
+    }
+
+    //동시에 여러 변경이 커밋돼도 마지막으로 만든 사전이 최신 DB 상태를 반영하도록 직렬화
+    public synchronized void refresh() {
+        List<CategoryName> categories = categoryRepository.findAllNames();
+        LongObjectHashMap<String> fresh = new LongObjectHashMap<>(categories.size());
+        for (CategoryName category : categories) {
+            fresh.put(category.id(), category.name());
+        }
+        this.names = fresh;
+    }
+
+    private LongObjectHashMap<String> current() {
+        LongObjectHashMap<String> current = names;
+        if (current == null) {
+            refresh();
+            return names;
+        }
+        return current;
+    }
+}
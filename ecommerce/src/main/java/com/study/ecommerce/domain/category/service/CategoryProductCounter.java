@@ -0,0 +1,116 @@
+package com.study.ecommerce.domain.category.service;
+
+import com.study.ecommerce.domain.category.repository.CategoryProductCount;
+import com.study.ecommerce.domain.category.repository.CategoryRepository;
+import com.study.ecommerce.domain.product.entity.Product.ProductStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 카테고리별 판매중(ACTIVE) 상품 수 (카테고리 자신에 직접 속한 상품만)
+ * 상품 생성/삭제/상태 변경은 커밋 후 LongAdder 에 증감만 쌓고, flush 때 합산해서 기준 값에 반영한다
+ * JPQL 벌크 UPDATE 처럼 엔티티 리스너를 거치지 않는 변경은 주기적인 GROUP BY 재집계로 맞춘다
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CategoryProductCounter {
+    private final CategoryRepository categoryRepository;
+
+    //커밋됐지만 아직 반영하지 않은 증감 (카테고리별 striped 카운터)
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    private final Map<Long, Long> counts = new ConcurrentHashMap<>();
+
+    //재집계로 기준 값이 바뀌었는지 (다음 flush 에서 스냅샷 재구성)
+    private final AtomicBoolean reconciled = new AtomicBoolean();
+
+    /**
+     * 상품 상태/카테고리 변경 기록 (트랜잭션 안이면 커밋 후 반영)
+     * 이전/이후 중 ACTIVE 였던 쪽의 카테고리에 -1/+1
+     */
+    public void recordTransition(ProductStatus oldStatus, Long oldCategoryId,
+                                 ProductStatus newStatus, Long newCategoryId) {
+        boolean wasActive = oldStatus == ProductStatus.ACTIVE && oldCategoryId != null;
+        boolean isActive = newStatus == ProductStatus.ACTIVE && newCategoryId != null;
+        if (wasActive && isActive && oldCategoryId.equals(newCategoryId)) {
+            return;
+        }
+        if (wasActive) {
+            afterCommit(oldCategoryId, -1);
+        }
+        if (isActive) {
+            afterCommit(newCategoryId, 1);
+        }
+    }
+
+    /**
+     * 쌓인 증감을 기준 값에 반영
+     * @return 바뀐 값이 있으면 true
+     */
+    public boolean flush() {
+        boolean changed = reconciled.getAndSet(false);
+        for (Map.Entry<Long, LongAdder> entry : pending.entrySet()) {
+            long delta = entry.getValue().sumThenReset();
+            if (delta != 0) {
+                counts.merge(entry.getKey(), delta, Long::sum);
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    public Map<Long, Long> counts() {
+        return Map.copyOf(counts);
+    }
+
+    /**
+     * DB 기준으로 재집계 (product(category_id, status) GROUP BY 한 번)
+     * 재집계 중에 커밋된 증감은 다음 재집계 때까지 한두 건 어긋날 수 있다 (메뉴 표시용 근사치)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${category.product-count.reconcile-interval-ms:600000}",
+            initialDelayString = "${category.product-count.reconcile-interval-ms:600000}")
+    public void reconcile() {
+        pending.values().forEach(LongAdder::reset);
+
+        Map<Long, Long> fresh = new HashMap<>();
+        for (CategoryProductCount count : categoryRepository.countProductsGroupByCategory(ProductStatus.ACTIVE)) {
+            fresh.put(count.categoryId(), count.count());
+        }
+
+        counts.keySet().retainAll(fresh.keySet());
+        counts.putAll(fresh);
+        reconciled.set(true);
+        log.debug("카테고리 상품 수 재집계 categories={}", fresh.size());
+    }
+
+    private void afterCommit(Long categoryId, long delta) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            add(categoryId, delta);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                add(categoryId, delta);
+            }
+        });
+    }
+
+    private void add(Long categoryId, long delta) {
+        pending.computeIfAbsent(categoryId, id -> new LongAdder()).add(delta);
+    }
+}
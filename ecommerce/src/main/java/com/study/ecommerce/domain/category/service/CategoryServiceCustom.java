@@ -3,96 +3,43 @@ package com.study.ecommerce.domain.category.service;
 import com.study.ecommerce.domain.category.dto.req.CategoryRequest;
 import com.study.ecommerce.domain.category.dto.resp.CategoryResponse;
 import com.study.ecommerce.domain.category.entity.Category;
+import com.study.ecommerce.domain.category.event.CategoryChangedEvent;
 import com.study.ecommerce.domain.category.repository.CategoryRepository;
 import com.study.ecommerce.global.error.exception.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class CategoryServiceCustom implements CategoryService{
     private final CategoryRepository categoryRepository;
+    private final CategoryTreeCache categoryTreeCache;
+    private final ApplicationEventPublisher eventPublisher;
 
+    //미리 만들어 둔 불변 트리를 그대로 반환 (조회마다 findAll/트리 재구성 없음)
     @Override
-    @Transactional(readOnly = true)
     public List<CategoryResponse> getAllCategories() {
-        //모든 카테고리 조회
-        List<Category> allCategories = categoryRepository.findAll() ;
-
-        // 부모 Id로 카테고리 그룹화
-        Map<Long,List<Category>> childenMap = allCategories.stream()
-                //최상위 카테고리는 제외
-                .filter(cat -> cat.getParentId() != null)
-                //부모 Id로 그룹화
-                .collect(Collectors.groupingBy(Category::getParentId));
-
-        //최상위 카테고리만 가져옴
-        List<Category> rooCategories = allCategories.stream()
-                .filter(cat -> cat.getParentId() == null)
-                .toList();
-
-      return rooCategories.stream()
-                .map(cat -> buildCategoryResponse(cat,childenMap))
-              .toList();
-
-    }
-
-    private CategoryResponse buildCategoryResponse(Category category,Map<Long,List<Category>> childrenMap){
-        List<CategoryResponse> children = new ArrayList<>();
-        //자식 카테고리가 존재하면
-        if(childrenMap.containsKey(category.getId())){
-            //자식 카테고리를 조회해서 CategoryResponse로 변환
-            children = childrenMap.get(category.getId()).stream()
-                    //자식 카테고리가 존재하면
-                    .map(child -> buildCategoryResponse(child,childrenMap))
-                    .toList();
-        }
-
-        return new CategoryResponse(
-                category.getId(),
-                category.getName(),
-                category.getDepth(),
-                category.getParentId(),
-                children
-        );
+        return categoryTreeCache.get().roots();
     }
 
     @Override
     public CategoryResponse getCategoryById(Long id) {
-//        List<Category> allCategories = categoryRepository.findAll();
-//
-//        Map<Long,List<Category>> childenMap = allCategories.stream()
-//                .filter(cat -> cat.getParentId() != null)
-//                .collect(Collectors.groupingBy(Category::getParentId));
-//
-//        Category rootCategory = allCategories.stream()
-//                .filter(cat -> cat.getId().equals(id))
-//                .findFirst()
-//                .orElseThrow(() -> new EntityNotFoundException("존재하지 않는 카테고리입니다"));
-//
-//        return buildCategoryResponse(rootCategory,childenMap);
-        Category category = categoryRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("카테고리 찾을수 없음"));
-
-        List<Category> allCategories = categoryRepository.findAll();
-
-        Map<Long,List<Category>> childenMap = allCategories.stream()
-                .filter(cat -> cat.getParentId() != null)
-                .collect(Collectors.groupingBy(Category::getParentId));
-
-        return null;
+        CategoryResponse category = categoryTreeCache.get().get(id);
+        if (category == null) {
+            throw new EntityNotFoundException("카테고리 찾을수 없음");
+        }
+        return category;
     }
 
     @Override
     @Transactional
     public CategoryResponse createCategory(CategoryRequest request) {
         Long parentId = null;
+        String parentPath = null;
 
         //최상단 카테고리
         int depth = 1;
@@ -103,6 +50,7 @@ public class CategoryServiceCustom implements CategoryService{
                     .orElseThrow(() -> new EntityNotFoundException("상위 카테고리 찾을수 없습니다"));
 
             parentId = parent.getId();
+            parentPath = parent.getPath();
 
             //부모 카테고리의 깊이 + 1
             depth = parent.getDepth() + 1;
@@ -115,29 +63,36 @@ public class CategoryServiceCustom implements CategoryService{
                 .parentId(parentId)
                 .build();
         categoryRepository.save(category);
+        //시퀀스로 id 가 정해진 뒤 경로 지정 (커밋 시 더티 체킹으로 반영)
+        category.assignPath(parentPath);
+        eventPublisher.publishEvent(new CategoryChangedEvent(category.getId()));
 
         return new CategoryResponse(
                 category.getId(),
                 category.getName(),
                 category.getDepth(),
                 category.getParentId(),
+                0L,
                 List.of()
         );
     }
 
     @Override
+    @Transactional
     public CategoryResponse updateCategory(Long id, CategoryRequest request) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("카테고리를 찾을수 없습니다"));
 
         Long parentId = null;
+        String parentPath = null;
         int depth = 1;
 
-       if(request.parentId() == null){
+       if(request.parentId() != null){
            Category parent  = categoryRepository.findById(request.parentId())
                    .orElseThrow(() -> new EntityNotFoundException("상위 카테고리를 찾을수 없습니다"));
 
            parentId = parent.getId();
+           parentPath = parent.getPath();
            depth = parent.getDepth()+1;
 
            //자기 자신을 부모로 설정하는 경우 방지
@@ -146,26 +101,35 @@ public class CategoryServiceCustom implements CategoryService{
            }
 
            // 자신이 하위 카테고리르 부모로 설정하는 순환참조 금지
-           if(isDescendant(category, parent)){
+           if(categoryRepository.isDescendant(category.getId(), parent.getId())){
                throw new IllegalArgumentException("하위 카테고리를 상위카테고리롤 설정 못함");
            }
        }
 
-        Category updateCategory = Category.builder()
-                .name(request.name())
-                .parentId(request.parentId())
-                .depth(depth)
-                .build();
+        //기존 카테고리를 수정 (더티 체킹)
+        String oldPath = category.getPath();
+        int depthDelta = depth - category.getDepth();
+        category.update(request.name(), parentId, depth);
+        category.assignPath(parentPath);
 
-        Category updated =  categoryRepository.save(updateCategory);
+        //부모가 바뀌면 하위 트리 전체의 경로/깊이도 함께 이동
+        if (oldPath != null && !oldPath.equals(category.getPath())) {
+            categoryRepository.moveSubtree(oldPath, category.getPath(), depthDelta);
+        }
+        eventPublisher.publishEvent(new CategoryChangedEvent(category.getId()));
 
-        return new CategoryResponse(updated.getId()
-                ,updated.getName(),updated.getDepth(),
-                updated.getParentId(),List.of()
+        //이동해도 하위 트리 상품 수는 그대로이므로 현재 스냅샷 값을 사용
+        CategoryResponse current = categoryTreeCache.get().get(id);
+        return new CategoryResponse(category.getId()
+                ,category.getName(),category.getDepth(),
+                category.getParentId(),
+                current != null ? current.productCount() : null,
+                List.of()
         );
     }
 
     @Override
+    @Transactional
     public void deleteCategoryById(Long id) {
 //        categoryRepository.findById(id)
 //                        .orElseThrow(() -> new EntityNotFoundException("카테고리를 찾을수 없습니다"));
@@ -186,22 +150,6 @@ public class CategoryServiceCustom implements CategoryService{
             throw new IllegalArgumentException("카테고리에 속한 상품이 있는 경우 삭젤할 수 없습니다");
         }
         categoryRepository.delete(category);
-    }
-
-    //하위 카테고리 유무 체크
-    private boolean isDescendant(Category ancestor, Category descendant){
-        if(descendant.getParentId() == null){
-            return false;
-        }
-
-        if (descendant.getParentId().equals(ancestor.getId())){
-            return true;
-        }
-
-        //descendant의 부모 카테고리를 조회
-        Category parent =  categoryRepository.findById(descendant.getParentId())
-                .orElseThrow(() -> new EntityNotFoundException("카테고리를 찾을수 없습니다"));
-
-        return isDescendant(ancestor, parent);
+        eventPublisher.publishEvent(new CategoryChangedEvent(id));
     }
 }
@@ -0,0 +1,52 @@
+package com.study.ecommerce.domain.category.service;
+
+import com.study.ecommerce.domain.category.event.CategoryChangedEvent;
+import com.study.ecommerce.domain.category.repository.CategoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 카테고리 트리 스냅샷 보관
+ * 읽기는 volatile 참조 하나만 읽고, 카테고리 변경이 커밋되면 새 스냅샷을 만들어 참조를 교체한다 (copy-on-write)
+ */
+@Component
+@RequiredArgsConstructor
+public class CategoryTreeCache {
+    private final CategoryRepository categoryRepository;
+    private final CategoryProductCounter categoryProductCounter;
+
+    private volatile CategoryTreeSnapshot snapshot;
+
+    public CategoryTreeSnapshot get() {
+        CategoryTreeSnapshot current = snapshot;
+        if (current == null) {
+            return refresh();
+        }
+        return current;
+    }
+
+    //변경이 커밋된 뒤에만 교체 -> 롤백된 변경은 스냅샷에 반영되지 않는다
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        refresh();
+    }
+
+    //동시에 여러 변경이 커밋돼도 마지막으로 만든 스냅샷이 최신 DB 상태를 반영하도록 직렬화
+    public synchronized CategoryTreeSnapshot refresh() {
+        CategoryTreeSnapshot rebuilt = CategoryTreeSnapshot.of(categoryRepository.findAll(), categoryProductCounter.counts());
+        this.snapshot = rebuilt;
+        return rebuilt;
+    }
+
+    //쌓인 상품 수 증감을 주기적으로 반영 -> 바뀐 경우에만 상품 수만 다시 합산한 스냅샷으로 교체
+    @Scheduled(fixedDelayString = "${category.product-count.flush-interval-ms:5000}")
+    public synchronized void flushProductCounts() {
+        if (!categoryProductCounter.flush() || snapshot == null) {
+            return;
+        }
+        this.snapshot = snapshot.withProductCounts(categoryProductCounter.counts());
+    }
+}
@@ -0,0 +1,93 @@
+package com.study.ecommerce.domain.category.service;
+
+import com.study.ecommerce.domain.category.dto.resp.CategoryResponse;
+import com.study.ecommerce.domain.category.entity.Category;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 카테고리 트리 불변 스냅샷
+ * 한 번 만들면 바뀌지 않으므로 여러 요청이 락 없이 같은 객체를 그대로 응답에 사용한다
+ * productCount 는 하위 트리까지 합산한 판매중 상품 수 (스냅샷을 만들 때 한 번 계산)
+ */
+public final class CategoryTreeSnapshot {
+    private final List<Node> nodes;
+    private final List<CategoryResponse> roots;
+    private final Map<Long, CategoryResponse> byId;
+
+    private CategoryTreeSnapshot(List<Node> nodes, List<CategoryResponse> roots, Map<Long, CategoryResponse> byId) {
+        this.nodes = nodes;
+        this.roots = roots;
+        this.byId = byId;
+    }
+
+    public static CategoryTreeSnapshot of(List<Category> allCategories, Map<Long, Long> productCounts) {
+        List<Node> nodes = allCategories.stream()
+                .map(category -> new Node(category.getId(), category.getName(), category.getDepth(), category.getParentId()))
+                .toList();
+        return build(nodes, productCounts);
+    }
+
+    //카테고리 구조는 그대로 두고 상품 수만 바꾼 새 스냅샷 (DB 조회 없음)
+    public CategoryTreeSnapshot withProductCounts(Map<Long, Long> productCounts) {
+        return build(nodes, productCounts);
+    }
+
+    private static CategoryTreeSnapshot build(List<Node> nodes, Map<Long, Long> productCounts) {
+        // 부모 Id로 카테고리 그룹화
+        Map<Long, List<Node>> childrenMap = nodes.stream()
+                .filter(node -> node.parentId() != null)
+                .collect(Collectors.groupingBy(Node::parentId));
+
+        Map<Long, CategoryResponse> byId = new HashMap<>();
+        List<CategoryResponse> roots = new ArrayList<>();
+        for (Node node : nodes) {
+            if (node.parentId() == null) {
+                roots.add(build(node, childrenMap, productCounts, byId));
+            }
+        }
+        return new CategoryTreeSnapshot(nodes, Collections.unmodifiableList(roots), Collections.unmodifiableMap(byId));
+    }
+
+    private static CategoryResponse build(Node node, Map<Long, List<Node>> childrenMap,
+                                          Map<Long, Long> productCounts, Map<Long, CategoryResponse> byId) {
+        List<CategoryResponse> children = childrenMap.getOrDefault(node.id(), List.of()).stream()
+                .map(child -> build(child, childrenMap, productCounts, byId))
+                .toList();
+
+        //자신에게 직접 속한 상품 + 자식 트리 합계
+        long productCount = productCounts.getOrDefault(node.id(), 0L);
+        for (CategoryResponse child : children) {
+            productCount += child.productCount();
+        }
+
+        CategoryResponse response = new CategoryResponse(
+                node.id(),
+                node.name(),
+                node.depth(),
+                node.parentId(),
+                productCount,
+                children
+        );
+        byId.put(node.id(), response);
+        return response;
+    }
+
+    //최상위 카테고리 목록 (하위 트리 포함)
+    public List<CategoryResponse> roots() {
+        return roots;
+    }
+
+    //id 로 카테고리 조회 (하위 트리 포함), 없으면 null
+    public CategoryResponse get(Long id) {
+        return byId.get(id);
+    }
+
+    private record Node(Long id, String name, Integer depth, Long parentId) {
+    }
+}
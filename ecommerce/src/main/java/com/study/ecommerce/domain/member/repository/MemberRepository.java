@@ -2,10 +2,20 @@ package com.study.ecommerce.domain.member.repository;
 
 import com.study.ecommerce.domain.member.entity.Member;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 public interface MemberRepository extends JpaRepository<Member, Long> {
     Optional<Member> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    //로그인 중 재해시 - 검증에 쓴 해시가 그대로일 때만 교체 (그 사이 비밀번호가 바뀌었으면 0건)
+    @Transactional
+    @Modifying
+    @Query("update Member m set m.password = :newHash where m.id = :id and m.password = :oldHash")
+    int updatePasswordHash(@Param("id") Long memberId, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
 }
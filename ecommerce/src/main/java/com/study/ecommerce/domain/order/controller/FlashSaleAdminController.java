@@ -0,0 +1,29 @@
+package com.study.ecommerce.domain.order.controller;
+
+import com.study.ecommerce.domain.order.service.FlashSaleService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/admin/flash-sales")
+@RequiredArgsConstructor
+public class FlashSaleAdminController {
+    private final FlashSaleService flashSaleService;
+
+    @PutMapping("/{productId}")
+    public ResponseEntity<Void> enable(@PathVariable Long productId){
+        flashSaleService.enable(productId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/{productId}")
+    public ResponseEntity<Void> disable(@PathVariable Long productId){
+        flashSaleService.disable(productId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,48 @@
+package com.study.ecommerce.domain.order.controller;
+
+import com.study.ecommerce.domain.order.dto.OrderCreateRequest;
+import com.study.ecommerce.domain.order.dto.OrderCursorResponse;
+import com.study.ecommerce.domain.order.dto.OrderResponse;
+import com.study.ecommerce.domain.order.service.OrderIdempotencyService;
+import com.study.ecommerce.domain.order.service.OrderService;
+import com.study.ecommerce.global.security.MemberPrincipal;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/orders")
+@RequiredArgsConstructor
+public class OrderController {
+    private final OrderIdempotencyService orderIdempotencyService;
+    private final OrderService orderService;
+
+    //타임아웃 후 재시도하는 클라이언트는 같은 Idempotency-Key 를 보내면 최초 주문 결과를 받는다 (플래시 세일 주문 포함)
+    @PostMapping
+    public ResponseEntity<OrderResponse> createOrder(
+            @Valid @RequestBody OrderCreateRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @AuthenticationPrincipal MemberPrincipal principal){
+        OrderResponse response = orderIdempotencyService.createOrder(
+                request, principal.getMemberId(), idempotencyKey);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    //내 주문 내역 (최신순 커서 페이지, 다음 페이지는 응답의 nextCursor 를 cursor 로 넘긴다)
+    @GetMapping
+    public ResponseEntity<OrderCursorResponse> getOrders(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @AuthenticationPrincipal MemberPrincipal principal){
+        return ResponseEntity.ok(orderService.getOrders(principal.getMemberId(), cursor, size));
+    }
+}
@@ -0,0 +1,38 @@
+package com.study.ecommerce.domain.order.dto;
+
+import com.study.ecommerce.global.error.ErrorCode;
+import com.study.ecommerce.global.error.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * 주문 내역 커서 (order_date, id)
+ * 클라이언트에는 Base64 로 인코딩한 불투명 토큰으로만 노출한다
+ */
+public record OrderCursor(
+        LocalDateTime orderDate,
+        Long id
+) {
+    private static final String DELIMITER = "|";
+
+    public String encode() {
+        String raw = orderDate + DELIMITER + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static OrderCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int idx = raw.lastIndexOf(DELIMITER);
+            return new OrderCursor(
+                    LocalDateTime.parse(raw.substring(0, idx)),
+                    Long.parseLong(raw.substring(idx + 1))
+            );
+        } catch (RuntimeException e) {
+            throw new BusinessException("잘못된 커서입니다.", ErrorCode.INVALID_INPUT_VALUE);
+        }
+    }
+}
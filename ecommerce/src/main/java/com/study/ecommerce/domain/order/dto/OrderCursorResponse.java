@@ -0,0 +1,10 @@
+package com.study.ecommerce.domain.order.dto;
+
+import java.util.List;
+
+public record OrderCursorResponse(
+        List<OrderResponse> orders,
+        String nextCursor,
+        boolean hasNext
+) {
+}
@@ -15,7 +15,8 @@ import java.time.LocalDateTime;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Order extends BaseTimeEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq_generator")
+    @SequenceGenerator(name = "orders_seq_generator", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "member_id",nullable = false)
@@ -28,12 +29,18 @@ public class Order extends BaseTimeEntity {
 
     private Long totalAmount;
 
+    //결제 대기(CREATED) 주문의 재고 점유 만료 시각 -> 지나면 자동 취소 후 재고 원복
+    @Column(name = "reservation_expires_at")
+    private LocalDateTime reservationExpiresAt;
+
     @Builder
-    public Order(Long memberId, OrderStatus status, LocalDateTime orderDate, Long totalAmount) {
+    public Order(Long memberId, OrderStatus status, LocalDateTime orderDate, Long totalAmount,
+                 LocalDateTime reservationExpiresAt) {
         this.memberId = memberId;
         this.status = status;
         this.orderDate = orderDate;
         this.totalAmount = totalAmount;
+        this.reservationExpiresAt = reservationExpiresAt;
     }
 
 
@@ -47,6 +54,16 @@ public class Order extends BaseTimeEntity {
         this.totalAmount = totalAmount;
     }
 
+    public void reserveUntil(LocalDateTime reservationExpiresAt) {
+        this.reservationExpiresAt = reservationExpiresAt;
+    }
+
+    public boolean isReservationExpired(LocalDateTime now) {
+        return status == OrderStatus.CREATED
+                && reservationExpiresAt != null
+                && !reservationExpiresAt.isAfter(now);
+    }
+
 
     public enum OrderStatus{
         CREATED, PAID, CANCELED, DELVERD,SHIPPING
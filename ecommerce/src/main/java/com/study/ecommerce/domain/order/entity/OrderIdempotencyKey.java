@@ -0,0 +1,83 @@
+package com.study.ecommerce.domain.order.entity;
+
+import com.study.ecommerce.domain.order.entity.Order.OrderStatus;
+import com.study.ecommerce.global.common.BaseTimeEntity;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * 주문 생성 멱등성 키
+ * 같은 Idempotency-Key 로 재요청이 오면 저장된 주문 결과를 그대로 돌려준다
+ */
+@Entity
+@Table(name = "order_idempotency_key")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class OrderIdempotencyKey extends BaseTimeEntity implements Persistable<String> {
+
+    @Id
+    @Column(name = "idempotency_key", length = 100)
+    private String idempotencyKey;
+
+    @Column(name = "member_id", nullable = false)
+    private Long memberId;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Enumerated(EnumType.STRING)
+    private OrderStatus orderStatus;
+
+    private Long totalAmount;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    //키를 직접 지정하므로 save() 가 merge(SELECT 후 UPDATE) 하지 않고 항상 INSERT 하도록
+    //-> 동시에 들어온 같은 키는 PK 충돌로 막힌다
+    @Transient
+    private boolean isNew = true;
+
+    @Builder
+    public OrderIdempotencyKey(String idempotencyKey, Long memberId, Long orderId,
+                               OrderStatus orderStatus, Long totalAmount, LocalDateTime expiresAt) {
+        this.idempotencyKey = idempotencyKey;
+        this.memberId = memberId;
+        this.orderId = orderId;
+        this.orderStatus = orderStatus;
+        this.totalAmount = totalAmount;
+        this.expiresAt = expiresAt;
+    }
+
+    //주문 처리가 끝난 뒤 응답 값 기록
+    public void recordResponse(OrderStatus orderStatus, Long totalAmount) {
+        this.orderStatus = orderStatus;
+        this.totalAmount = totalAmount;
+    }
+
+    @Override
+    public String getId() {
+        return idempotencyKey;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    public boolean isExpired(LocalDateTime now) {
+        return expiresAt.isBefore(now);
+    }
+}
@@ -13,7 +13,8 @@ import lombok.NoArgsConstructor;
 public class OrderItem  extends BaseTimeEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_item_seq_generator")
+    @SequenceGenerator(name = "order_item_seq_generator", sequenceName = "order_item_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "order_id", nullable = false)
@@ -0,0 +1,45 @@
+package com.study.ecommerce.domain.order.event;
+
+import com.study.ecommerce.domain.order.entity.Order;
+import com.study.ecommerce.domain.order.repository.OrderRepository;
+import com.study.ecommerce.domain.order.service.OrderService;
+import com.study.ecommerce.global.error.exception.EntityNotFoundException;
+import com.study.ecommerce.infra.payment.service.MockPaymentService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 비동기 결제 처리
+ * 주문/재고 차감 트랜잭션이 커밋된 뒤에 결제 스레드풀에서 PG 호출을 수행한다.
+ * 결제 성공 -> PAID, 실패 -> 재고 원복 후 CANCELED (보상 처리)
+ * 작업이 유실되어도(재시작 등) 주문의 재고 점유 마감이 지나면 만료 처리가 재고를 원복한다
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderPaymentEventListener {
+
+    private final OrderRepository orderRepository;
+    private final OrderService orderService;
+    private final MockPaymentService mockPaymentService;
+
+    @Async("paymentTaskExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handle(OrderPaymentRequestedEvent event) {
+        Order order = orderRepository.findById(event.orderId())
+                .orElseThrow(() -> new EntityNotFoundException("주문을 찾을수 없습니다" + event.orderId()));
+
+        try {
+            //상품 락을 잡지 않은 상태에서 PG 호출
+            mockPaymentService.processPayment(order, event.paymentMethod());
+            orderService.completePayment(order.getId());
+        } catch (RuntimeException e) {
+            log.error("결제 처리 실패 - 주문 보상 처리 orderId={}", order.getId(), e);
+            orderService.compensateOrder(order.getId());
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.study.ecommerce.domain.order.event;
+
+import com.study.ecommerce.domain.payment.entity.Payment.PaymentMethod;
+
+public record OrderPaymentRequestedEvent(
+        Long orderId,
+        PaymentMethod paymentMethod
+) {
+}
@@ -0,0 +1,10 @@
+package com.study.ecommerce.domain.order.event;
+
+import java.time.LocalDateTime;
+
+//결제 대기 주문의 재고 점유 시작 (커밋 후 만료 타이머 등록)
+public record OrderReservationCreatedEvent(
+        Long orderId,
+        LocalDateTime expiresAt
+) {
+}
@@ -0,0 +1,11 @@
+package com.study.ecommerce.domain.order.event;
+
+import com.study.ecommerce.domain.order.entity.Order.OrderStatus;
+
+public record OrderStatusChangedPayload(
+        Long orderId,
+        Long memberId,
+        OrderStatus status,
+        Long totalAmount
+) {
+}
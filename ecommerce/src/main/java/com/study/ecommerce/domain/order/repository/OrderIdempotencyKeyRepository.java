@@ -0,0 +1,29 @@
+package com.study.ecommerce.domain.order.repository;
+
+import com.study.ecommerce.domain.order.entity.OrderIdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public interface OrderIdempotencyKeyRepository extends JpaRepository<OrderIdempotencyKey, String> {
+
+    //만료된 키 일괄 삭제 (expires_at 인덱스 사용)
+    @Modifying
+    @Query("delete from OrderIdempotencyKey k where k.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+
+    //만료됐지만 아직 sweeper 가 지우지 않은 키 하나만 삭제 (만료 안 된 키는 건드리지 않음)
+    @Transactional
+    @Modifying
+    @Query("delete from OrderIdempotencyKey k where k.idempotencyKey = :key and k.expiresAt < :now")
+    int deleteExpiredKey(@Param("key") String idempotencyKey, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("delete from OrderIdempotencyKey k where k.idempotencyKey in :keys and k.expiresAt < :now")
+    int deleteExpiredKeys(@Param("keys") Collection<String> idempotencyKeys, @Param("now") LocalDateTime now);
+}
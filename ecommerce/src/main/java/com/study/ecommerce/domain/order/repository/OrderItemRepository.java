@@ -3,8 +3,12 @@ package com.study.ecommerce.domain.order.repository;
 import com.study.ecommerce.domain.order.entity.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface OrderItemRepository extends JpaRepository<OrderItem,Long> {
     List<OrderItem> findByOrderId(Long id);
+
+    //여러 주문의 상품을 IN 쿼리 한 번으로 조회
+    List<OrderItem> findByOrderIdIn(Collection<Long> orderIds);
 }
@@ -2,13 +2,80 @@ package com.study.ecommerce.domain.order.repository;
 
 
 import com.study.ecommerce.domain.order.entity.Order;
+import com.study.ecommerce.domain.order.entity.Order.OrderStatus;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 
 public interface OrderRepository extends JpaRepository<Order,Long> {
 
     Page<Order> findByMemberId(Long id, Pageable pageable);
+
+    /**
+     * 커서 기반 주문 내역 - 첫 페이지
+     * List 반환이라 COUNT 쿼리를 실행하지 않는다 (orders(member_id, order_date, id) 인덱스 사용)
+     */
+    @Query("select o from Order o where o.memberId = :memberId order by o.orderDate desc, o.id desc")
+    List<Order> findFirstPageByMemberId(@Param("memberId") Long memberId, Pageable pageable);
+
+    /**
+     * 커서 기반 주문 내역 - 다음 페이지 (마지막으로 본 (orderDate, id) 이후)
+     */
+    @Query("select o from Order o where o.memberId = :memberId " +
+            "and (o.orderDate < :orderDate or (o.orderDate = :orderDate and o.id < :id)) " +
+            "order by o.orderDate desc, o.id desc")
+    List<Order> findNextPageByMemberId(@Param("memberId") Long memberId,
+                                       @Param("orderDate") LocalDateTime orderDate,
+                                       @Param("id") Long id,
+                                       Pageable pageable);
+
+    /**
+     * 상태를 바꾸기 전에 주문 row 락 (결제 완료/보상/취소/만료가 같은 주문을 동시에 처리해도 락을 잡은 뒤 상태를 다시 확인한다)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select o from Order o where o.id = :id")
+    Optional<Order> findByIdForUpdate(@Param("id") Long orderId);
+
+    /**
+     * 재고 점유 만료 대상 주문을 id 오름차순으로 락
+     * 결제 완료/사용자 취소와 동시에 실행돼도 상태를 다시 확인한 뒤 처리할 수 있다
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select o from Order o where o.id in :ids and o.status = :status " +
+            "and o.reservationExpiresAt <= :now order by o.id")
+    List<Order> findExpiredReservationsForUpdate(@Param("ids") Collection<Long> ids,
+                                                 @Param("status") OrderStatus status,
+                                                 @Param("now") LocalDateTime now);
+
+    /**
+     * (마감 시각, id) 가 커서 이후인 결제 대기 주문 (기동 시 타이밍 휠 복원용)
+     * orders(status, reservation_expires_at) 인덱스 범위 조회라 전체 테이블을 읽지 않는다
+     */
+    @Query("select new com.study.ecommerce.domain.order.repository.OrderReservation(o.id, o.reservationExpiresAt) " +
+            "from Order o where o.status = :status " +
+            "and (o.reservationExpiresAt > :expiresAt or (o.reservationExpiresAt = :expiresAt and o.id > :id)) " +
+            "order by o.reservationExpiresAt, o.id")
+    List<OrderReservation> findReservationsAfter(@Param("status") OrderStatus status,
+                                                 @Param("expiresAt") LocalDateTime expiresAt,
+                                                 @Param("id") Long id,
+                                                 Pageable pageable);
+
+    /**
+     * 마감이 지난 결제 대기 주문 id (타이밍 휠에서 놓친 주문 보정용)
+     */
+    @Query("select o.id from Order o where o.status = :status and o.reservationExpiresAt <= :now " +
+            "order by o.reservationExpiresAt")
+    List<Long> findExpiredReservationIds(@Param("status") OrderStatus status,
+                                         @Param("now") LocalDateTime now,
+                                         Pageable pageable);
 }
@@ -0,0 +1,7 @@
+package com.study.ecommerce.domain.order.repository;
+
+import java.time.LocalDateTime;
+
+//결제 대기 주문의 id 와 재고 점유 마감 시각 (엔티티 대신 필요한 컬럼만 조회)
+public record OrderReservation(Long id, LocalDateTime expiresAt) {
+}
@@ -0,0 +1,207 @@
+package com.study.ecommerce.domain.order.service;
+
+import com.study.ecommerce.domain.order.dto.OrderResponse;
+import com.study.ecommerce.domain.order.entity.Order;
+import com.study.ecommerce.domain.order.entity.OrderIdempotencyKey;
+import com.study.ecommerce.domain.order.entity.OrderItem;
+import com.study.ecommerce.domain.order.event.OrderPaymentRequestedEvent;
+import com.study.ecommerce.domain.order.event.OrderReservationCreatedEvent;
+import com.study.ecommerce.domain.order.repository.OrderIdempotencyKeyRepository;
+import com.study.ecommerce.domain.order.repository.OrderItemRepository;
+import com.study.ecommerce.domain.order.repository.OrderRepository;
+import com.study.ecommerce.domain.product.entity.Product;
+import com.study.ecommerce.domain.product.event.ProductChangedEvent;
+import com.study.ecommerce.domain.product.repository.ProductRepository;
+import com.study.ecommerce.global.error.ErrorCode;
+import com.study.ecommerce.global.error.exception.BusinessException;
+import com.study.ecommerce.global.error.exception.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.study.ecommerce.domain.order.entity.Order.OrderStatus.CREATED;
+
+/**
+ * 플래시 세일 대기열의 요청 묶음을 트랜잭션 하나로 반영
+ * 상품 row 락은 묶음당 한 번만 잡고, 재고 차감도 합계로 한 번만 한다
+ * Idempotency-Key 가 있는 요청은 키도 주문과 같은 트랜잭션에 저장하고, 이미 저장된 키는 기존 주문 결과로 응답한다
+ */
+@Component
+@RequiredArgsConstructor
+public class FlashSaleBatchWriter {
+    private final ProductRepository productRepository;
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final OrderIdempotencyKeyRepository idempotencyKeyRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${order.reservation.ttl-minutes:30}")
+    private long reservationTtlMinutes;
+
+    @Value("${order.idempotency.ttl-hours:24}")
+    private long idempotencyTtlHours;
+
+    /**
+     * @return 요청 순서대로 주문 결과와 실패 사유 (요청마다 둘 중 하나만 있음) 와 남은 재고
+     */
+    @Transactional
+    public BatchResult writeBatch(Long productId, List<FlashSalePurchase> purchases) {
+        Product product = productRepository.findByIdWithPessimisticLock(productId)
+                .orElseThrow(() -> new EntityNotFoundException("상품을 찾을수 없습니다"));
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, OrderIdempotencyKey> storedKeys = findStoredKeys(purchases, now);
+
+        //먼저 들어온 요청부터 남은 재고 안에서 승인
+        int available = product.getStatus() == Product.ProductStatus.DELETED ? 0 : product.getStockQuantity();
+        int size = purchases.size();
+        Order[] orders = new Order[size];
+        OrderResponse[] storedResponses = new OrderResponse[size];
+        RuntimeException[] failures = new RuntimeException[size];
+        Map<String, Order> batchKeys = new HashMap<>();
+        List<Order> acceptedOrders = new ArrayList<>(size);
+        List<FlashSalePurchase> accepted = new ArrayList<>(size);
+        int acceptedQuantity = 0;
+
+        for (int i = 0; i < size; i++) {
+            FlashSalePurchase purchase = purchases.get(i);
+            String key = purchase.getIdempotencyKey();
+
+            //같은 키로 이미 만들어진 주문(이전 배치/같은 배치)이 있으면 그 결과를 그대로 돌려준다
+            if (key != null && storedKeys.containsKey(key)) {
+                OrderIdempotencyKey stored = storedKeys.get(key);
+                if (stored.getMemberId().equals(purchase.getMemberId())) {
+                    storedResponses[i] = new OrderResponse(stored.getOrderId(), stored.getOrderStatus(), stored.getTotalAmount());
+                } else {
+                    failures[i] = foreignKey();
+                }
+                continue;
+            }
+            if (key != null && batchKeys.containsKey(key)) {
+                Order order = batchKeys.get(key);
+                if (order.getMemberId().equals(purchase.getMemberId())) {
+                    orders[i] = order;
+                } else {
+                    failures[i] = foreignKey();
+                }
+                continue;
+            }
+
+            if (purchase.getQuantity() > available) {
+                failures[i] = new BusinessException("재고가 부족합니다. productId=" + productId, ErrorCode.OUT_OF_STOCK);
+                continue;
+            }
+            available -= purchase.getQuantity();
+            acceptedQuantity += purchase.getQuantity();
+
+            Order order = Order.builder()
+                    .memberId(purchase.getMemberId())
+                    .status(CREATED)
+                    .orderDate(now)
+                    .totalAmount(product.getPrice() * purchase.getQuantity())
+                    //비동기 결제 주문도 마감을 지정 -> 결제 작업이 유실되면 만료 처리가 재고를 원복
+                    .reservationExpiresAt(now.plusMinutes(reservationTtlMinutes))
+                    .build();
+            orders[i] = order;
+            acceptedOrders.add(order);
+            accepted.add(purchase);
+            if (key != null) {
+                batchKeys.put(key, order);
+            }
+        }
+
+        if (acceptedQuantity > 0) {
+            product.decreaseStockQuantity(acceptedQuantity);
+            eventPublisher.publishEvent(ProductChangedEvent.of(productId));
+        }
+
+        orderRepository.saveAll(acceptedOrders);
+
+        List<OrderItem> orderItems = new ArrayList<>(acceptedOrders.size());
+        List<OrderIdempotencyKey> idempotencyKeys = new ArrayList<>(batchKeys.size());
+        for (int i = 0; i < acceptedOrders.size(); i++) {
+            Order order = acceptedOrders.get(i);
+            FlashSalePurchase purchase = accepted.get(i);
+            orderItems.add(OrderItem.builder()
+                    .orderId(order.getId())
+                    .productId(productId)
+                    .quantity(purchase.getQuantity())
+                    .price(product.getPrice())
+                    .build());
+
+            //멱등성 키는 주문과 같은 트랜잭션에 저장 (배치가 롤백되면 키도 남지 않는다)
+            if (purchase.getIdempotencyKey() != null) {
+                idempotencyKeys.add(OrderIdempotencyKey.builder()
+                        .idempotencyKey(purchase.getIdempotencyKey())
+                        .memberId(order.getMemberId())
+                        .orderId(order.getId())
+                        .orderStatus(order.getStatus())
+                        .totalAmount(order.getTotalAmount())
+                        .expiresAt(now.plusHours(idempotencyTtlHours))
+                        .build());
+            }
+
+            //결제는 커밋 이후 결제 스레드풀에서 처리
+            if (purchase.payNow()) {
+                eventPublisher.publishEvent(new OrderPaymentRequestedEvent(order.getId(), purchase.getPaymentMethod()));
+            }
+            eventPublisher.publishEvent(new OrderReservationCreatedEvent(order.getId(), order.getReservationExpiresAt()));
+        }
+        orderItemRepository.saveAll(orderItems);
+        idempotencyKeyRepository.saveAll(idempotencyKeys);
+
+        List<OrderResponse> responses = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Order order = orders[i];
+            responses.add(order != null
+                    ? new OrderResponse(order.getId(), order.getStatus(), order.getTotalAmount())
+                    : storedResponses[i]);
+        }
+        return new BatchResult(responses, Arrays.asList(failures), product.getStockQuantity());
+    }
+
+    /**
+     * 대기열 추정치 동기화용 현재 재고 (삭제된 상품은 0)
+     */
+    @Transactional(readOnly = true)
+    public int currentStock(Long productId) {
+        return productRepository.findById(productId)
+                .filter(product -> product.getStatus() != Product.ProductStatus.DELETED)
+                .map(Product::getStockQuantity)
+                .orElse(0);
+    }
+
+    //배치에 들어온 키 중 아직 유효한 키 (만료됐지만 sweeper 가 아직 지우지 않은 키는 먼저 지워서 INSERT 충돌을 막는다)
+    private Map<String, OrderIdempotencyKey> findStoredKeys(List<FlashSalePurchase> purchases, LocalDateTime now) {
+        Set<String> keys = purchases.stream()
+                .map(FlashSalePurchase::getIdempotencyKey)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (keys.isEmpty()) {
+            return Map.of();
+        }
+        idempotencyKeyRepository.deleteExpiredKeys(keys, now);
+        return idempotencyKeyRepository.findAllById(keys).stream()
+                .collect(Collectors.toMap(OrderIdempotencyKey::getIdempotencyKey, Function.identity()));
+    }
+
+    private static IllegalArgumentException foreignKey() {
+        return new IllegalArgumentException("다른 사용자의 Idempotency-Key 입니다.");
+    }
+
+    public record BatchResult(List<OrderResponse> responses, List<RuntimeException> failures, int remainingStock) {
+    }
+}
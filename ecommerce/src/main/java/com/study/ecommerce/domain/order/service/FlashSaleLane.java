@@ -0,0 +1,165 @@
+package com.study.ecommerce.domain.order.service;
+
+import com.study.ecommerce.global.error.ErrorCode;
+import com.study.ecommerce.global.error.exception.BusinessException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 상품(SKU) 하나의 플래시 세일 대기열
+ * 요청은 크기 제한이 있는 큐에 쌓이고, writer 스레드 하나만 큐를 비우면서 묶음 단위로 DB 에 반영한다
+ * remainingStock 은 빠른 거절용 추정치이고 실제 재고 판단은 writer 가 DB 기준으로 한다
+ * 추정치는 배치 반영 후, 재고 변경 알림(취소/만료/보상 원복 등)을 받았을 때, 그리고 주기적으로 DB 재고에 다시 맞춘다
+ */
+@Slf4j
+class FlashSaleLane {
+    private final Long productId;
+    private final BlockingQueue<FlashSalePurchase> queue;
+    private final AtomicInteger remainingStock;
+    private final int batchSize;
+    private final FlashSaleBatchWriter batchWriter;
+    private final long resyncIntervalNanos;
+    private volatile boolean running = true;
+    private volatile boolean resyncRequested;
+    //writer 스레드에서만 읽고 쓴다
+    private long nextResyncAt;
+
+    FlashSaleLane(Long productId, int initialStock, int queueCapacity, int batchSize,
+                  long resyncIntervalMs, FlashSaleBatchWriter batchWriter) {
+        this.productId = productId;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.remainingStock = new AtomicInteger(initialStock);
+        this.batchSize = batchSize;
+        this.resyncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(resyncIntervalMs);
+        this.nextResyncAt = System.nanoTime() + resyncIntervalNanos;
+        this.batchWriter = batchWriter;
+    }
+
+    /**
+     * 대기열 진입 - 재고나 큐 여유가 없으면 바로 거절
+     */
+    FlashSalePurchase submit(FlashSalePurchase purchase) {
+        if (!running) {
+            throw new BusinessException("플래시 세일이 종료되었습니다.", ErrorCode.FLASH_SALE_QUEUE_FULL);
+        }
+
+        int quantity = purchase.getQuantity();
+        int before = remainingStock.getAndUpdate(stock -> stock >= quantity ? stock - quantity : stock);
+        if (before < quantity) {
+            throw new BusinessException("재고가 부족합니다. productId=" + productId, ErrorCode.OUT_OF_STOCK);
+        }
+
+        if (!queue.offer(purchase)) {
+            remainingStock.addAndGet(quantity);
+            throw new BusinessException("주문이 몰려 대기열이 가득 찼습니다.", ErrorCode.FLASH_SALE_QUEUE_FULL);
+        }
+        return purchase;
+    }
+
+    //writer 루프 - 종료 시 남아 있는 요청은 모두 거절
+    void drainLoop() {
+        List<FlashSalePurchase> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                resyncIfDue();
+                FlashSalePurchase first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } finally {
+                batch.clear();
+            }
+        }
+
+        queue.drainTo(batch);
+        BusinessException closed = new BusinessException("플래시 세일이 종료되었습니다.", ErrorCode.FLASH_SALE_QUEUE_FULL);
+        batch.forEach(purchase -> purchase.getResult().completeExceptionally(closed));
+    }
+
+    private void write(List<FlashSalePurchase> batch) {
+        //대기 타임아웃으로 이미 취소된 요청은 제외하고, 제출할 때 빼 둔 수량은 추정치에 되돌린다
+        List<FlashSalePurchase> taken = new ArrayList<>(batch.size());
+        int skippedQuantity = 0;
+        for (FlashSalePurchase purchase : batch) {
+            if (purchase.take()) {
+                taken.add(purchase);
+            } else {
+                skippedQuantity += purchase.getQuantity();
+            }
+        }
+        if (skippedQuantity > 0) {
+            remainingStock.addAndGet(skippedQuantity);
+        }
+        if (taken.isEmpty()) {
+            return;
+        }
+
+        try {
+            FlashSaleBatchWriter.BatchResult result = batchWriter.writeBatch(productId, taken);
+
+            //커밋이 끝난 뒤에 대기 중인 요청을 깨운다
+            for (int i = 0; i < taken.size(); i++) {
+                RuntimeException failure = result.failures().get(i);
+                if (failure != null) {
+                    taken.get(i).getResult().completeExceptionally(failure);
+                } else {
+                    taken.get(i).getResult().complete(result.responses().get(i));
+                }
+            }
+            //방금 락을 잡고 읽은 DB 재고 기준으로 추정치 보정 (이 배치가 보낸 재고 변경 알림은 다시 읽을 필요 없음)
+            resyncRequested = false;
+            syncEstimate(result.remainingStock());
+        } catch (RuntimeException e) {
+            log.error("플래시 세일 배치 처리 실패 productId={}", productId, e);
+            remainingStock.addAndGet(taken.stream().mapToInt(FlashSalePurchase::getQuantity).sum());
+            taken.forEach(purchase -> purchase.getResult().completeExceptionally(e));
+        }
+    }
+
+    /**
+     * 재고가 바뀌었다는 알림 (취소/만료/보상 원복, 일반 주문, 상품 수정)
+     * 실제 동기화는 writer 스레드가 다음 루프에서 한다
+     */
+    void requestResync() {
+        resyncRequested = true;
+    }
+
+    //추정치가 0 에 멈춰 품절로 남지 않도록 요청이 있거나 주기가 되면 DB 재고를 다시 읽는다
+    private void resyncIfDue() {
+        long now = System.nanoTime();
+        if (!resyncRequested && now - nextResyncAt < 0) {
+            return;
+        }
+        //읽기 전에 내려야 읽는 동안 들어온 알림을 놓치지 않는다
+        resyncRequested = false;
+        try {
+            syncEstimate(batchWriter.currentStock(productId));
+        } catch (RuntimeException e) {
+            log.warn("플래시 세일 재고 동기화 실패 productId={}", productId, e);
+            nextResyncAt = now + resyncIntervalNanos;
+        }
+    }
+
+    //큐에 남아 있는 요청 수량은 제출 시점에 이미 빠져 있으므로 제외
+    private void syncEstimate(int stock) {
+        nextResyncAt = System.nanoTime() + resyncIntervalNanos;
+        int queued = queue.stream().mapToInt(FlashSalePurchase::getQuantity).sum();
+        remainingStock.set(Math.max(0, stock - queued));
+    }
+
+    void stop() {
+        running = false;
+    }
+}
@@ -0,0 +1,48 @@
+package com.study.ecommerce.domain.order.service;
+
+import com.study.ecommerce.domain.order.dto.OrderResponse;
+import com.study.ecommerce.domain.payment.entity.Payment.PaymentMethod;
+import lombok.Getter;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 플래시 세일 대기열에 들어간 구매 요청 한 건
+ * 대기 중인 요청은 DB 커넥션 없이 future 만 들고 기다린다
+ */
+@Getter
+class FlashSalePurchase {
+    private static final int PENDING = 0;
+    private static final int TAKEN = 1;
+    private static final int CANCELED = 2;
+
+    private final Long memberId;
+    private final int quantity;
+    private final PaymentMethod paymentMethod;
+    //null 이면 멱등성 키 없이 주문
+    private final String idempotencyKey;
+    private final CompletableFuture<OrderResponse> result = new CompletableFuture<>();
+    private final AtomicInteger state = new AtomicInteger(PENDING);
+
+    FlashSalePurchase(Long memberId, int quantity, PaymentMethod paymentMethod, String idempotencyKey) {
+        this.memberId = memberId;
+        this.quantity = quantity;
+        this.paymentMethod = paymentMethod;
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    //writer 가 처리하기 직전에 호출 -> 이미 타임아웃으로 취소된 요청이면 false
+    boolean take() {
+        return state.compareAndSet(PENDING, TAKEN);
+    }
+
+    //대기 타임아웃 -> writer 가 아직 가져가지 않았을 때만 취소 성공
+    boolean cancel() {
+        return state.compareAndSet(PENDING, CANCELED);
+    }
+
+    boolean payNow() {
+        return paymentMethod != null;
+    }
+}
@@ -0,0 +1,150 @@
+package com.study.ecommerce.domain.order.service;
+
+import com.study.ecommerce.domain.order.dto.OrderCreateRequest;
+import com.study.ecommerce.domain.order.dto.OrderCreateRequest.OrderItemRequest;
+import com.study.ecommerce.domain.order.dto.OrderResponse;
+import com.study.ecommerce.domain.payment.entity.Payment.PaymentMethod;
+import com.study.ecommerce.domain.product.entity.Product;
+import com.study.ecommerce.domain.product.event.ProductChangedEvent;
+import com.study.ecommerce.domain.product.repository.ProductRepository;
+import com.study.ecommerce.global.error.ErrorCode;
+import com.study.ecommerce.global.error.exception.BusinessException;
+import com.study.ecommerce.global.error.exception.EntityNotFoundException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 플래시 세일 모드
+ * 상품별로 켜고 끌 수 있으며, 켜진 상품의 단건 주문은 행 락 경쟁 대신 상품별 대기열을 거친다
+ * 대기 중인 요청은 트랜잭션/DB 커넥션을 잡지 않는다
+ */
+@Service
+@RequiredArgsConstructor
+public class FlashSaleService {
+    private final FlashSaleBatchWriter batchWriter;
+    private final ProductRepository productRepository;
+
+    @Value("${flash-sale.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${flash-sale.batch-size:100}")
+    private int batchSize;
+
+    @Value("${flash-sale.wait-timeout-ms:3000}")
+    private long waitTimeoutMs;
+
+    @Value("${flash-sale.resync-interval-ms:5000}")
+    private long resyncIntervalMs;
+
+    private final Map<Long, FlashSaleLane> lanes = new ConcurrentHashMap<>();
+
+    private SimpleAsyncTaskExecutor writerExecutor;
+
+    @PostConstruct
+    void initExecutor() {
+        this.writerExecutor = new SimpleAsyncTaskExecutor("flash-sale-");
+        this.writerExecutor.setVirtualThreads(true);
+    }
+
+    public void enable(Long productId) {
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new EntityNotFoundException("상품을 찾을수 없습니다"));
+
+        lanes.computeIfAbsent(productId, id -> {
+            FlashSaleLane lane = new FlashSaleLane(id, product.getStockQuantity(), queueCapacity, batchSize,
+                    resyncIntervalMs, batchWriter);
+            writerExecutor.execute(lane::drainLoop);
+            return lane;
+        });
+    }
+
+    public void disable(Long productId) {
+        FlashSaleLane lane = lanes.remove(productId);
+        if (lane != null) {
+            lane.stop();
+        }
+    }
+
+    public boolean isEnabled(Long productId) {
+        return lanes.containsKey(productId);
+    }
+
+    //플래시 세일 대상: 플래시 세일이 켜진 상품 하나만 직접 주문하는 요청
+    public boolean isFlashSaleOrder(OrderCreateRequest request) {
+        if (lanes.isEmpty() || (request.cartItemIds() != null && !request.cartItemIds().isEmpty())) {
+            return false;
+        }
+        return request.items() != null && request.items().size() == 1
+                && isEnabled(request.items().get(0).getProductId());
+    }
+
+    /**
+     * @param idempotencyKey null 이면 키 없이 주문, 있으면 writer 가 주문과 같은 트랜잭션에 저장
+     */
+    public OrderResponse purchase(OrderCreateRequest request, Long memberId, String idempotencyKey) {
+        OrderItemRequest item = request.items().get(0);
+        FlashSaleLane lane = lanes.get(item.getProductId());
+        if (lane == null) {
+            throw new IllegalArgumentException("플래시 세일 상품이 아닙니다.");
+        }
+
+        PaymentMethod paymentMethod = request.payNow() ? PaymentMethod.valueOf(request.paymentMethod()) : null;
+        FlashSalePurchase purchase = lane.submit(
+                new FlashSalePurchase(memberId, item.getQuantity(), paymentMethod, idempotencyKey));
+        return await(purchase);
+    }
+
+    private OrderResponse await(FlashSalePurchase purchase) {
+        try {
+            try {
+                return purchase.getResult().get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                //writer 가 아직 가져가지 않았으면 취소, 이미 처리 중이면 결과를 끝까지 기다린다
+                if (purchase.cancel()) {
+                    throw new BusinessException("주문 대기 시간이 초과되었습니다.", ErrorCode.FLASH_SALE_QUEUE_FULL);
+                }
+                return purchase.getResult().get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("플래시 세일 주문 대기 중 인터럽트", e);
+        }
+    }
+
+    //재고가 바뀐 상품(취소/만료/보상 원복, 일반 주문, 상품 수정)은 대기열 추정치를 DB 재고로 다시 맞춘다
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (lanes.isEmpty()) {
+            return;
+        }
+        for (Long productId : event.productIds()) {
+            FlashSaleLane lane = lanes.get(productId);
+            if (lane != null) {
+                lane.requestResync();
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        lanes.values().forEach(FlashSaleLane::stop);
+        lanes.clear();
+    }
+}
@@ -0,0 +1,173 @@
+package com.study.ecommerce.domain.order.service;
+
+import com.study.ecommerce.domain.order.dto.OrderCreateRequest;
+import com.study.ecommerce.domain.order.dto.OrderResponse;
+import com.study.ecommerce.domain.order.entity.OrderIdempotencyKey;
+import com.study.ecommerce.domain.order.repository.OrderIdempotencyKeyRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Idempotency-Key 기반 주문 생성
+ * 재시도 요청은 저장된 OrderResponse 를 그대로 돌려주고 상품 row 는 건드리지 않는다
+ * 조회 순서: 메모리 캐시(LRU) -> order_idempotency_key 테이블 -> 실제 주문 생성
+ * 플래시 세일 상품 단건 주문도 키 확인을 먼저 한 뒤 상품별 대기열로 보낸다
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderIdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final OrderService orderService;
+    private final FlashSaleService flashSaleService;
+    private final OrderIdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Value("${order.idempotency.cache-size:10000}")
+    private int cacheSize;
+
+    @Value("${order.idempotency.ttl-hours:24}")
+    private long ttlHours;
+
+    private Map<String, StoredResponse> cache;
+
+    @PostConstruct
+    void initCache() {
+        //접근 순서 LinkedHashMap -> 가장 오래 안 쓴 키부터 제거 (크기 제한)
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    public OrderResponse createOrder(OrderCreateRequest request, Long memberId, String idempotencyKey) {
+        if (!StringUtils.hasText(idempotencyKey)) {
+            return dispatch(request, memberId, null);
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key 는 " + MAX_KEY_LENGTH + "자 이하여야 합니다.");
+        }
+
+        OrderResponse stored = findStoredResponse(idempotencyKey, memberId);
+        if (stored != null) {
+            return stored;
+        }
+
+        try {
+            return createAndCache(request, memberId, idempotencyKey);
+        } catch (DataIntegrityViolationException e) {
+            //같은 키로 동시에 들어온 요청이 먼저 커밋된 경우 -> 그 결과를 돌려준다
+            OrderResponse winner = findStoredResponse(idempotencyKey, memberId);
+            if (winner != null) {
+                return winner;
+            }
+
+            //만료됐지만 아직 sweeper 가 지우지 않은 키와 충돌한 경우 -> 지우고 한 번만 다시 시도
+            if (idempotencyKeyRepository.deleteExpiredKey(idempotencyKey, LocalDateTime.now()) == 0) {
+                throw e;
+            }
+            try {
+                return createAndCache(request, memberId, idempotencyKey);
+            } catch (DataIntegrityViolationException retryFailure) {
+                OrderResponse retryWinner = findStoredResponse(idempotencyKey, memberId);
+                if (retryWinner == null) {
+                    throw retryFailure;
+                }
+                return retryWinner;
+            }
+        }
+    }
+
+    private OrderResponse createAndCache(OrderCreateRequest request, Long memberId, String idempotencyKey) {
+        OrderResponse response = dispatch(request, memberId, idempotencyKey);
+        putCache(idempotencyKey, new StoredResponse(memberId, response, LocalDateTime.now().plusHours(ttlHours)));
+        return response;
+    }
+
+    //플래시 세일 상품 단건 주문은 상품별 대기열로 (키는 writer 가 주문과 같은 트랜잭션에 저장)
+    private OrderResponse dispatch(OrderCreateRequest request, Long memberId, String idempotencyKey) {
+        if (flashSaleService.isFlashSaleOrder(request)) {
+            return flashSaleService.purchase(request, memberId, idempotencyKey);
+        }
+        return orderService.createOrder(request, memberId, idempotencyKey);
+    }
+
+    private OrderResponse findStoredResponse(String idempotencyKey, Long memberId) {
+        LocalDateTime now = LocalDateTime.now();
+
+        StoredResponse cached = getCache(idempotencyKey);
+        if (cached != null && !cached.isExpired(now)) {
+            checkOwner(cached.memberId().equals(memberId));
+            return cached.response();
+        }
+
+        OrderIdempotencyKey saved = idempotencyKeyRepository.findById(idempotencyKey)
+                .filter(key -> !key.isExpired(now))
+                .orElse(null);
+        if (saved == null) {
+            return null;
+        }
+
+        checkOwner(saved.getMemberId().equals(memberId));
+
+        OrderResponse response = new OrderResponse(saved.getOrderId(), saved.getOrderStatus(), saved.getTotalAmount());
+        putCache(idempotencyKey, new StoredResponse(memberId, response, saved.getExpiresAt()));
+        return response;
+    }
+
+    private void checkOwner(boolean sameMember) {
+        if (!sameMember) {
+            throw new IllegalArgumentException("다른 사용자의 Idempotency-Key 입니다.");
+        }
+    }
+
+    /**
+     * 만료된 키 정리 (TTL sweeper)
+     */
+    @Scheduled(fixedDelayString = "${order.idempotency.sweep-interval-ms:600000}")
+    @Transactional
+    public void sweepExpiredKeys() {
+        LocalDateTime now = LocalDateTime.now();
+        int deleted = idempotencyKeyRepository.deleteExpired(now);
+
+        synchronized (cache) {
+            cache.values().removeIf(stored -> stored.isExpired(now));
+        }
+
+        if (deleted > 0) {
+            log.info("만료된 Idempotency-Key 삭제 count={}", deleted);
+        }
+    }
+
+    private StoredResponse getCache(String idempotencyKey) {
+        synchronized (cache) {
+            return cache.get(idempotencyKey);
+        }
+    }
+
+    private void putCache(String idempotencyKey, StoredResponse stored) {
+        synchronized (cache) {
+            cache.put(idempotencyKey, stored);
+        }
+    }
+
+    private record StoredResponse(Long memberId, OrderResponse response, LocalDateTime expiresAt) {
+        boolean isExpired(LocalDateTime now) {
+            return expiresAt.isBefore(now);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.study.ecommerce.domain.order.service;
+
+import com.study.ecommerce.domain.order.event.OrderReservationCreatedEvent;
+import com.study.ecommerce.domain.order.repository.OrderRepository;
+import com.study.ecommerce.domain.order.repository.OrderReservation;
+import com.study.ecommerce.global.common.HierarchicalTimingWheel;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static com.study.ecommerce.domain.order.entity.Order.OrderStatus.CREATED;
+
+/**
+ * 결제 대기 주문의 재고 점유 만료 처리
+ * 주문 커밋 시 마감 시각을 타이밍 휠에 등록하고, 주기적으로 휠을 진행해 마감이 지난 주문만 배치로 취소한다
+ * 휠은 메모리에만 있으므로 기동 시 DB 에서 복원하고, 다른 인스턴스에서 생성된 주문 등 놓친 주문은
+ * orders(status, reservation_expires_at) 인덱스 범위 조회로 보정한다 (orders 전체를 훑지 않음)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderReservationExpiryService {
+    private final OrderService orderService;
+    private final OrderRepository orderRepository;
+
+    @Value("${order.reservation.tick-ms:1000}")
+    private long tickMs;
+
+    @Value("${order.reservation.wheel-size:64}")
+    private int wheelSize;
+
+    @Value("${order.reservation.batch-size:100}")
+    private int batchSize;
+
+    private HierarchicalTimingWheel wheel;
+
+    //등록 시점에 이미 마감이 지난 주문 -> 다음 sweep 에서 바로 처리
+    private final ConcurrentLinkedQueue<Long> overdue = new ConcurrentLinkedQueue<>();
+
+    @PostConstruct
+    void initWheel() {
+        this.wheel = new HierarchicalTimingWheel(tickMs, wheelSize, System.currentTimeMillis());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onReservationCreated(OrderReservationCreatedEvent event) {
+        schedule(event.orderId(), event.expiresAt());
+    }
+
+    //기동 시 아직 마감 전인 결제 대기 주문을 휠에 다시 등록 ((마감 시각, id) 커서로 배치 조회)
+    @EventListener(ApplicationReadyEvent.class)
+    public void restorePendingReservations() {
+        LocalDateTime cursorExpiresAt = LocalDateTime.now();
+        Long cursorId = 0L;
+        int restored = 0;
+        List<OrderReservation> reservations;
+        do {
+            reservations = orderRepository.findReservationsAfter(
+                    CREATED, cursorExpiresAt, cursorId, PageRequest.of(0, batchSize));
+            for (OrderReservation reservation : reservations) {
+                schedule(reservation.id(), reservation.expiresAt());
+                cursorExpiresAt = reservation.expiresAt();
+                cursorId = reservation.id();
+            }
+            restored += reservations.size();
+        } while (reservations.size() == batchSize);
+
+        log.info("재고 점유 만료 타이머 복원 count={}", restored);
+    }
+
+    @Scheduled(fixedDelayString = "${order.reservation.sweep-interval-ms:1000}")
+    public void sweep() {
+        List<Long> expired = new ArrayList<>(wheel.advance(System.currentTimeMillis()));
+        Long orderId;
+        while ((orderId = overdue.poll()) != null) {
+            expired.add(orderId);
+        }
+
+        for (int from = 0; from < expired.size(); from += batchSize) {
+            expire(expired.subList(from, Math.min(from + batchSize, expired.size())));
+        }
+    }
+
+    //휠에 없는 주문(기동 중 생성, 다른 인스턴스, 처리 실패) 보정 -> 마감이 지난 CREATED 주문만 인덱스로 조회
+    @Scheduled(fixedDelayString = "${order.reservation.fallback-interval-ms:60000}")
+    public void sweepMissed() {
+        List<Long> expiredIds;
+        do {
+            expiredIds = orderRepository.findExpiredReservationIds(
+                    CREATED, LocalDateTime.now(), PageRequest.of(0, batchSize));
+            if (!expiredIds.isEmpty() && expire(expiredIds) == 0) {
+                //처리하지 못한 배치가 계속 조회되는 것을 막기 위해 다음 주기로 미룬다
+                return;
+            }
+        } while (expiredIds.size() == batchSize);
+    }
+
+    private void schedule(Long orderId, LocalDateTime expiresAt) {
+        if (orderId == null || expiresAt == null) {
+            return;
+        }
+        long deadlineMs = expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        if (!wheel.add(orderId, deadlineMs)) {
+            overdue.add(orderId);
+        }
+    }
+
+    //배치 하나가 실패해도 다른 배치는 계속 처리 (실패한 주문은 sweepMissed 에서 다시 처리)
+    private int expire(List<Long> orderIds) {
+        try {
+            int expired = orderService.expireReservations(orderIds);
+            if (expired > 0) {
+                log.info("재고 점유 만료 주문 취소 count={}", expired);
+            }
+            return expired;
+        } catch (RuntimeException e) {
+            log.error("재고 점유 만료 처리 실패 orderIds={}", orderIds, e);
+            return 0;
+        }
+    }
+}
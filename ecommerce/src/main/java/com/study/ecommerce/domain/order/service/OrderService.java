@@ -1,14 +1,28 @@
 package com.study.ecommerce.domain.order.service;
 
 import com.study.ecommerce.domain.order.dto.OrderCreateRequest;
+import com.study.ecommerce.domain.order.dto.OrderCursorResponse;
 import com.study.ecommerce.domain.order.dto.OrderDetailResponse;
 import com.study.ecommerce.domain.order.dto.OrderResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
+
 public interface OrderService {
     OrderResponse createOrder(OrderCreateRequest request, String email);
+    OrderResponse createOrder(OrderCreateRequest request, String email, String idempotencyKey);
     OrderResponse cancelOrder(Long orderId, String email);
     OrderDetailResponse getOrderDetail(Long orderId, String email);
     Page<OrderResponse> getOrders(String email, Pageable pageable);
+    OrderCursorResponse getOrders(String email, String cursor, int size);
+    OrderResponse completePayment(Long orderId);
+    void compensateOrder(Long orderId);
+    int expireReservations(Collection<Long> orderIds);
+
+    //인증 principal 의 회원 id 를 바로 사용 (이메일로 회원 조회 생략)
+    OrderResponse createOrder(OrderCreateRequest request, Long memberId, String idempotencyKey);
+    OrderResponse cancelOrder(Long orderId, Long memberId);
+    Page<OrderResponse> getOrders(Long memberId, Pageable pageable);
+    OrderCursorResponse getOrders(Long memberId, String cursor, int size);
 }
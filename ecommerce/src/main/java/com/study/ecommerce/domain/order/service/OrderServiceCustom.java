@@ -4,33 +4,58 @@ import com.study.ecommerce.domain.cart.entity.Cart;
 import com.study.ecommerce.domain.cart.entity.CartItem;
 import com.study.ecommerce.domain.cart.repository.CartItemRepository;
 import com.study.ecommerce.domain.cart.repository.CartRepository;
+import com.study.ecommerce.domain.category.service.CategoryProductCounter;
 import com.study.ecommerce.domain.member.entity.Member;
 import com.study.ecommerce.domain.member.repository.MemberRepository;
 import com.study.ecommerce.domain.order.dto.OrderCreateRequest;
 import com.study.ecommerce.domain.order.dto.OrderCreateRequest.OrderItemRequest;
+import com.study.ecommerce.domain.order.dto.OrderCursor;
+import com.study.ecommerce.domain.order.dto.OrderCursorResponse;
 import com.study.ecommerce.domain.order.dto.OrderDetailResponse;
 import com.study.ecommerce.domain.order.dto.OrderItemDto;
 import com.study.ecommerce.domain.order.dto.OrderResponse;
 import com.study.ecommerce.domain.order.entity.Order;
 import com.study.ecommerce.domain.order.entity.Order.OrderStatus;
+import com.study.ecommerce.domain.order.entity.OrderIdempotencyKey;
 import com.study.ecommerce.domain.order.entity.OrderItem;
+import com.study.ecommerce.domain.order.event.OrderPaymentRequestedEvent;
+import com.study.ecommerce.domain.order.event.OrderReservationCreatedEvent;
+import com.study.ecommerce.domain.order.event.OrderStatusChangedPayload;
+import com.study.ecommerce.domain.order.repository.OrderIdempotencyKeyRepository;
 import com.study.ecommerce.domain.order.repository.OrderItemRepository;
 import com.study.ecommerce.domain.order.repository.OrderRepository;
 import com.study.ecommerce.domain.payment.entity.Payment;
 import com.study.ecommerce.domain.payment.repository.PaymentRepository;
 import com.study.ecommerce.domain.product.entity.Product;
 import com.study.ecommerce.domain.product.repository.ProductRepository;
+import com.study.ecommerce.domain.product.repository.ProductStatusRow;
+import com.study.ecommerce.domain.product.event.ProductChangedEvent;
+import com.study.ecommerce.global.error.ErrorCode;
+import com.study.ecommerce.global.error.exception.BusinessException;
 import com.study.ecommerce.global.error.exception.EntityNotFoundException;
+import com.study.ecommerce.infra.outbox.entity.OutboxEvent.AggregateType;
+import com.study.ecommerce.infra.outbox.entity.OutboxEvent.EventType;
+import com.study.ecommerce.infra.outbox.service.OutboxService;
 import com.study.ecommerce.infra.payment.service.MockPaymentService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
 
 import static com.study.ecommerce.domain.order.entity.Order.OrderStatus.CANCELED;
 import static com.study.ecommerce.domain.order.entity.Order.OrderStatus.CREATED;
@@ -47,18 +72,45 @@ public class OrderServiceCustom implements OrderService{
     private final CartItemRepository cartItemRepository;
     private final PaymentRepository paymentRepository;
     private final MockPaymentService mockPaymentService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OrderIdempotencyKeyRepository idempotencyKeyRepository;
+    private final OutboxService outboxService;
+    private final CategoryProductCounter categoryProductCounter;
 
+    //true 면 주문/재고 커밋 후 결제를 별도 스레드풀에서 처리 (상품 락 보유 시간 단축)
+    @Value("${order.payment.async-enabled:true}")
+    private boolean asyncPaymentEnabled;
+
+    @Value("${order.idempotency.ttl-hours:24}")
+    private long idempotencyTtlHours;
+
+    //결제 대기 주문이 재고를 점유하는 시간
+    @Value("${order.reservation.ttl-minutes:30}")
+    private long reservationTtlMinutes;
 
     @Override
     @Transactional(isolation = Isolation.READ_COMMITTED)
     public OrderResponse createOrder(OrderCreateRequest request, String email) {
+        return createOrder(request, email, null);
+    }
+
+    /**
+     * 주문 생성 (멱등성 키 포함)
+     * 키는 주문과 같은 트랜잭션에 저장되므로 주문이 롤백되면 키도 남지 않는다
+     */
+    @Override
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public OrderResponse createOrder(OrderCreateRequest request, String email, String idempotencyKey) {
         // 1.회원 조회
-        Member member = memberRepository.findByEmail(email)
-                .orElseThrow(() -> new EntityNotFoundException("사용자를 찾을 수 없습니다."));
+        return createOrder(request, findMemberId(email), idempotencyKey);
+    }
 
+    @Override
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public OrderResponse createOrder(OrderCreateRequest request, Long memberId, String idempotencyKey) {
         // 2.주문 생성 (초기 총액자제를 0원으로 설정)
         Order order = Order.builder()
-                .memberId(member.getId())
+                .memberId(memberId)
                 .status(CREATED)
                 .orderDate(LocalDateTime.now())
                 .totalAmount(0L)
@@ -66,12 +118,23 @@ public class OrderServiceCustom implements OrderService{
 
         order = orderRepository.save(order);
 
+        //재고 락을 잡기 전에 키를 먼저 INSERT -> 동시에 들어온 중복 요청은 PK 충돌로 여기서 멈춘다
+        OrderIdempotencyKey savedKey = null;
+        if (idempotencyKey != null) {
+            savedKey = idempotencyKeyRepository.saveAndFlush(OrderIdempotencyKey.builder()
+                    .idempotencyKey(idempotencyKey)
+                    .memberId(memberId)
+                    .orderId(order.getId())
+                    .expiresAt(LocalDateTime.now().plusHours(idempotencyTtlHours))
+                    .build());
+        }
+
         //주문 상품 처리 및 총액 계산
         long totalAmount = 0L;
 
         if (request.cartItemIds() != null && !request.cartItemIds().isEmpty()){
             //장바구니로 상품을 주문
-            totalAmount = processCartItems(order, request.cartItemIds(),member);
+            totalAmount = processCartItems(order, request.cartItemIds(), memberId);
 
         } else if (request.items() != null && !request.items().isEmpty()) {
             //직접 저장하기
@@ -82,37 +145,62 @@ public class OrderServiceCustom implements OrderService{
 
         //총액 업데이트
         order.updateTotalAmount(totalAmount);
+
+        //결제 대기로 커밋되는 주문(나중에 결제, 비동기 결제)은 재고 점유 마감 시각을 지정 -> 지나면 자동 취소
+        //비동기 결제 작업은 메모리에만 있으므로 재시작 등으로 유실되어도 만료 처리가 재고를 원복한다
+        //(만료 뒤에 결제가 끝나면 completePayment 가 취소된 주문의 결제를 취소)
+        if (!request.payNow() || asyncPaymentEnabled) {
+            order.reserveUntil(order.getOrderDate().plusMinutes(reservationTtlMinutes));
+            eventPublisher.publishEvent(new OrderReservationCreatedEvent(order.getId(), order.getReservationExpiresAt()));
+        }
         order  = orderRepository.save(order);
 
-        //결제 진행- 비동기로 처리 가능
-        if(request.payNow()){
+        //결제 진행
+        if(request.payNow() && asyncPaymentEnabled){
+            //커밋 이후 결제 스레드풀에서 처리 -> 상품 row 락은 지금 트랜잭션 종료와 함께 해제
+            eventPublisher.publishEvent(new OrderPaymentRequestedEvent(
+                    order.getId(),
+                    Payment.PaymentMethod.valueOf(request.paymentMethod())
+            ));
+        } else if(request.payNow()){
             Payment payment = mockPaymentService.processPayment(order,
                     Payment.PaymentMethod.valueOf(request.paymentMethod())
             );
-            order.updateStatus(OrderStatus.PAID);
+            changeStatus(order, OrderStatus.PAID);
             orderRepository.save(order);
 
         }
+
+        if (savedKey != null) {
+            savedKey.recordResponse(order.getStatus(), order.getTotalAmount());
+        }
         return new OrderResponse(order.getId(), order.getStatus(), order.getTotalAmount());
     }
 
     @Override
     @Transactional
     public OrderResponse cancelOrder(Long orderId, String email) {
+        return cancelOrder(orderId, findMemberId(email));
+    }
 
-        //주문 조회
-        Order order = orderRepository.findById(orderId)
+    @Override
+    @Transactional
+    public OrderResponse cancelOrder(Long orderId, Long memberId) {
+
+        //주문 조회 (row 락 -> 동시 취소/만료 처리와 재고를 두 번 원복하지 않도록 락을 잡은 뒤 상태 확인)
+        Order order = orderRepository.findByIdForUpdate(orderId)
                 .orElseThrow(() -> new EntityNotFoundException("주문을 찾을수 없습니다" + orderId));
 
         //주문자 확인
-        Member member = memberRepository.findById(order.getMemberId())
-                .orElseThrow(() -> new EntityNotFoundException("회원을 찾을수 없습니다"));
-
-        //이어가는 스트림이 있을수도 있고 , 끊어가는 스트림이 있을수도 있고
-        if (!member.getEmail().equals(email)){
+        if (!order.getMemberId().equals(memberId)){
             throw new IllegalArgumentException("주문 취소할 권하이 없습니다");
         }
 
+        //이미 취소(만료 포함)된 주문은 재고가 원복된 상태 -> 그대로 반환
+        if (order.getStatus() == CANCELED) {
+            return new OrderResponse(order.getId(), order.getStatus(), order.getTotalAmount());
+        }
+
         //주문 상태 확인
 //        if (order.getStatus() == OrderStatus.CANCELED) {
 //            throw new IllegalStateException("이미 취소된 주문입니다.");
@@ -131,21 +219,14 @@ public class OrderServiceCustom implements OrderService{
                     .orElseThrow(() -> new EntityNotFoundException("결제 정보를 찾을수 없습니다"));
 
             mockPaymentService.cancelPayment(payment);
-            List<OrderItem> orderItems = orderItemRepository.findByOrderId(order.getId());
-
-            // 재고 원복
-            for (OrderItem orderItem : orderItems ){
-                Product product = productRepository.findById(orderItem.getProductId())
-                        .orElseThrow(() -> new EntityNotFoundException("상품을 찾을수 없습니다"));
-
-                product.increaseStockQuantity(orderItem.getQuantity());
-                productRepository.save(product);// 상관없음
-
-            }
+            restoreStock(order);
+        } else if (order.getStatus() == CREATED) {
+            //결제 전 주문도 생성 시점에 재고를 차감했으므로 원복
+            restoreStock(order);
         }
 
         // 주문 상태를 변경
-        order.updateStatus(CANCELED);
+        changeStatus(order, CANCELED);
         orderRepository.save(order);
 
         return new OrderResponse(
@@ -172,10 +253,17 @@ public class OrderServiceCustom implements OrderService{
 
         //주문 상품 조회
         List<OrderItem> orderItem = orderItemRepository.findByOrderId(order.getId());
+
+        //상품은 IN 쿼리 한 번으로 조회
+        Map<Long, Product> products = productRepository.findAllByIdAsMap(
+                orderItem.stream().map(OrderItem::getProductId).collect(Collectors.toSet()));
+
         List<OrderItemDto> orderItemDtos = orderItem.stream()
                 .map(item -> {
-                    Product product = productRepository.findById(item.getProductId())
-                            .orElseThrow(() -> new EntityNotFoundException("상품을 찾을 수 없습니다."));
+                    Product product = products.get(item.getProductId());
+                    if (product == null) {
+                        throw new EntityNotFoundException("상품을 찾을 수 없습니다.");
+                    }
                     return new OrderItemDto(
                             product.getId(),
                             product.getName(),
@@ -198,10 +286,12 @@ public class OrderServiceCustom implements OrderService{
 
     @Override
     public Page<OrderResponse> getOrders(String email, Pageable pageable) {
-        Member member = memberRepository.findByEmail(email)
-                .orElseThrow(() -> new EntityNotFoundException("회원을 찾을수 없습니다"));
+        return getOrders(findMemberId(email), pageable);
+    }
 
-        Page<Order> orders = orderRepository.findByMemberId(member.getId(), pageable);
+    @Override
+    public Page<OrderResponse> getOrders(Long memberId, Pageable pageable) {
+        Page<Order> orders = orderRepository.findByMemberId(memberId, pageable);
 
         return orders.map(order -> new OrderResponse(
                 order.getId(),
@@ -211,26 +301,195 @@ public class OrderServiceCustom implements OrderService{
 
     }
 
-    private long processCartItems(Order order, List<Long> cartItemIds, Member member) {
-        Cart cart = cartRepository.findByMemberId(member.getId())
-                .orElseThrow(() -> new EntityNotFoundException("장바구니를 찾을 수 없습니다."));
+    /**
+     * 커서(keyset) 기반 주문 내역 조회
+     * OFFSET/COUNT 없이 (order_date, id) 기준으로 다음 페이지를 찾는다
+     * @param cursor 이전 응답의 nextCursor (첫 페이지는 null)
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public OrderCursorResponse getOrders(String email, String cursor, int size) {
+        return getOrders(findMemberId(email), cursor, size);
+    }
 
-        long totalAmount = 0L;
+    @Override
+    @Transactional(readOnly = true)
+    public OrderCursorResponse getOrders(Long memberId, String cursor, int size) {
+        if (size < 1 || size > 100) {
+            throw new IllegalArgumentException("조회 개수는 1 ~ 100 사이여야 합니다.");
+        }
 
-        for (Long cartItemId : cartItemIds) {
-            CartItem cartItem = cartItemRepository.findById(cartItemId)
-                    .orElseThrow(() -> new EntityNotFoundException("장바구니 상품을 찾을 수 없습니다." + cartItemId));
+        //다음 페이지 존재 여부 확인을 위해 하나 더 조회
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<Order> orders;
+        if (cursor == null || cursor.isBlank()) {
+            orders = orderRepository.findFirstPageByMemberId(memberId, limit);
+        } else {
+            OrderCursor last = OrderCursor.decode(cursor);
+            orders = orderRepository.findNextPageByMemberId(
+                    memberId, last.orderDate(), last.id(), limit);
+        }
+
+        boolean hasNext = orders.size() > size;
+        List<Order> page = hasNext ? orders.subList(0, size) : orders;
+
+        String nextCursor = null;
+        if (hasNext) {
+            Order lastOrder = page.get(page.size() - 1);
+            nextCursor = new OrderCursor(lastOrder.getOrderDate(), lastOrder.getId()).encode();
+        }
+
+        List<OrderResponse> content = page.stream()
+                .map(order -> new OrderResponse(
+                        order.getId(),
+                        order.getStatus(),
+                        order.getTotalAmount()
+                ))
+                .toList();
+
+        return new OrderCursorResponse(content, nextCursor, hasNext);
+    }
+
+    @Override
+    @Transactional
+    public OrderResponse completePayment(Long orderId) {
+        //락을 잡은 뒤 상태 확인 -> 동시에 취소된 주문(재고 원복 완료)을 PAID 로 바꾸지 않는다
+        Order order = orderRepository.findByIdForUpdate(orderId)
+                .orElseThrow(() -> new EntityNotFoundException("주문을 찾을수 없습니다" + orderId));
+
+        if (order.getStatus() == CREATED) {
+            changeStatus(order, OrderStatus.PAID);
+        } else if (order.getStatus() == CANCELED) {
+            //결제 대기 중에 취소된 주문 -> 승인된 결제를 취소
+            paymentRepository.findByOrderId(order.getId())
+                    .ifPresent(mockPaymentService::cancelPayment);
+        }
 
+        return new OrderResponse(order.getId(), order.getStatus(), order.getTotalAmount());
+    }
+
+    @Override
+    @Transactional
+    public void compensateOrder(Long orderId) {
+        Order order = orderRepository.findByIdForUpdate(orderId)
+                .orElseThrow(() -> new EntityNotFoundException("주문을 찾을수 없습니다" + orderId));
+
+        //결제 대기 상태일 때만 보상 (이미 취소/만료되어 재고가 원복된 주문은 건너뛴다)
+        if (order.getStatus() != CREATED) {
+            return;
+        }
+
+        //결제가 이미 승인된 경우 결제도 취소
+        paymentRepository.findByOrderId(order.getId())
+                .filter(payment -> payment.getStatus() == Payment.PaymentStatus.COMPLETED)
+                .ifPresent(mockPaymentService::cancelPayment);
+
+        restoreStock(order);
+        changeStatus(order, CANCELED);
+    }
+
+    /**
+     * 재고 점유 마감이 지난 결제 대기 주문을 취소하고 재고 원복
+     * 주문은 id 순서로 락을 잡고 상태/마감을 다시 확인하므로 그 사이 결제되거나 취소된 주문은 건너뛴다
+     * 재고는 상품별 합계로 상품당 UPDATE 한 번 (상품 id 오름차순)
+     * 벌크 UPDATE 는 엔티티 리스너를 거치지 않으므로 품절 -> 판매중으로 되돌린 상품은 카테고리 상품 수에 직접 반영
+     * @return 만료 처리된 주문 수
+     */
+    @Override
+    @Transactional
+    public int expireReservations(Collection<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return 0;
+        }
+        List<Order> orders = orderRepository.findExpiredReservationsForUpdate(orderIds, CREATED, LocalDateTime.now());
+        if (orders.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> expiredIds = orders.stream().map(Order::getId).toList();
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (OrderItem orderItem : orderItemRepository.findByOrderIdIn(expiredIds)) {
+            quantities.merge(orderItem.getProductId(), orderItem.getQuantity(), Integer::sum);
+        }
+        //원복 전 상태를 락을 잡고 읽어서 이번 UPDATE 로 되살아나는 품절 상품을 정확히 찾는다
+        List<ProductStatusRow> before = productRepository.lockStatusesByIds(quantities.keySet());
+        quantities.forEach(productRepository::increaseStockQuantity);
+        for (ProductStatusRow row : before) {
+            if (row.status() == Product.ProductStatus.SOLD_OUT) {
+                categoryProductCounter.recordTransition(
+                        Product.ProductStatus.SOLD_OUT, row.categoryId(),
+                        Product.ProductStatus.ACTIVE, row.categoryId());
+            }
+        }
+        eventPublisher.publishEvent(ProductChangedEvent.of(quantities.keySet()));
+
+        for (Order order : orders) {
+            changeStatus(order, CANCELED);
+        }
+        return orders.size();
+    }
+
+    private Long findMemberId(String email) {
+        return memberRepository.findByEmail(email)
+                .map(Member::getId)
+                .orElseThrow(() -> new EntityNotFoundException("사용자를 찾을 수 없습니다."));
+    }
+
+    //주문 상태 변경 + 같은 트랜잭션에 아웃박스 이벤트 기록
+    private void changeStatus(Order order, OrderStatus status) {
+        order.updateStatus(status);
+        outboxService.record(
+                AggregateType.ORDER,
+                order.getId(),
+                status == CANCELED ? EventType.ORDER_CANCELED : EventType.ORDER_PAID,
+                new OrderStatusChangedPayload(order.getId(), order.getMemberId(), status, order.getTotalAmount())
+        );
+    }
+
+    // 재고 원복 - 주문 상품을 id 순서로 한 번에 락을 잡고 증가
+    private void restoreStock(Order order) {
+        List<OrderItem> orderItems = orderItemRepository.findByOrderId(order.getId());
+
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (OrderItem orderItem : orderItems) {
+            quantities.merge(orderItem.getProductId(), orderItem.getQuantity(), Integer::sum);
+        }
+
+        Map<Long, Product> products = productRepository.lockAllByIds(quantities.keySet());
+        quantities.forEach((productId, quantity) -> {
+            Product product = products.get(productId);
+            if (product == null) {
+                throw new EntityNotFoundException("상품을 찾을수 없습니다");
+            }
+            product.increaseStockQuantity(quantity);
+        });
+        eventPublisher.publishEvent(ProductChangedEvent.of(quantities.keySet()));
+    }
+
+    private long processCartItems(Order order, List<Long> cartItemIds, Long memberId) {
+        Cart cart = cartRepository.findByMemberId(memberId)
+                .orElseThrow(() -> new EntityNotFoundException("장바구니를 찾을 수 없습니다."));
+
+        List<CartItem> cartItems = cartItemRepository.findAllById(cartItemIds);
+        if (cartItems.size() != new HashSet<>(cartItemIds).size()) {
+            throw new EntityNotFoundException("장바구니 상품을 찾을 수 없습니다." + cartItemIds);
+        }
+
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (CartItem cartItem : cartItems) {
             // 해당 장바구니 상품이 현재 사용자의 것인지
             if (!cartItem.getCartId().equals(cart.getId())) {
                 throw new IllegalArgumentException("장바구니 상품 접근 권한이 없습니다.");
             }
+            quantities.merge(cartItem.getProductId(), cartItem.getQuantity(), Integer::sum);
+        }
 
-            Product product = productRepository.findByIdWithPessimisticLock(cartItem.getProductId())
-                    .orElseThrow(() -> new EntityNotFoundException("상품을 찾을 수 없습니다."));
+        Map<Long, Product> products = reserveStock(quantities);
 
-            product.decreaseStockQuantity(cartItem.getQuantity());
-            productRepository.save(product);
+        long totalAmount = 0L;
+        List<OrderItem> orderItems = new ArrayList<>(cartItems.size());
+        for (CartItem cartItem : cartItems) {
+            Product product = products.get(cartItem.getProductId());
 
             // 주문 상품 추가
             OrderItem orderItem = OrderItem.builder()
@@ -240,24 +499,29 @@ public class OrderServiceCustom implements OrderService{
                     .price(product.getPrice())
                     .build();
 
-            orderItemRepository.save(orderItem);
+            orderItems.add(orderItem);
             totalAmount += orderItem.getTotalPrice();
-
-            // 주문한 상품은 장바구니에서 제거
-            cartItemRepository.delete(cartItem);
         }
+        orderItemRepository.saveAll(orderItems);
+
+        // 주문한 상품은 장바구니에서 제거
+        cartItemRepository.deleteAll(cartItems);
         return totalAmount;
     }
 
     private long processDirectItems(Order order,List<OrderItemRequest> items) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (OrderItemRequest request : items) {
+            quantities.merge(request.getProductId(), request.getQuantity(), Integer::sum);
+        }
+
+        //상품 재고 확인 및 감소
+        Map<Long, Product> products = reserveStock(quantities);
+
         long totalAmount = 0L;
+        List<OrderItem> orderItems = new ArrayList<>(items.size());
         for (OrderItemRequest request : items){
-            //상품 재고 확인 및 감소
-            Product product = productRepository.findByIdWithPessimisticLock(request.getProductId())
-                    .orElseThrow(() -> new EntityNotFoundException("상품을 찾을수 없습니다"));
-
-            product.decreaseStockQuantity(request.getQuantity());
-            productRepository.save(product);
+            Product product = products.get(request.getProductId());
 
             OrderItem orderItem = OrderItem.builder()
                     .orderId(order.getId())
@@ -266,11 +530,65 @@ public class OrderServiceCustom implements OrderService{
                     .price(product.getPrice())
                     .build();
 
-            orderItemRepository.save(orderItem);
+            orderItems.add(orderItem);
             totalAmount += orderItem.getTotalPrice();
         }
+        orderItemRepository.saveAll(orderItems);
         return totalAmount;
     }
 
+    /**
+     * 주문 상품 재고 차감
+     * 단건 -> 조건부 UPDATE 한 번 (락 조회 없음)
+     * 다건 -> id 오름차순으로 한 번에 락을 잡고 차감 (데드락 방지, 상품당 왕복 제거)
+     * @param quantities 상품 id 별 주문 수량
+     * @return 상품 id 별 상품
+     */
+    private Map<Long, Product> reserveStock(Map<Long, Integer> quantities) {
+        //재고가 바뀐 상품은 커밋 후 캐시 무효화 (실패로 롤백되면 이벤트도 버려진다)
+        eventPublisher.publishEvent(ProductChangedEvent.of(quantities.keySet()));
+        if (quantities.size() == 1) {
+            Map.Entry<Long, Integer> line = quantities.entrySet().iterator().next();
+            return Map.of(line.getKey(), decreaseStock(line.getKey(), line.getValue()));
+        }
+
+        Map<Long, Product> products = productRepository.lockAllByIds(quantities.keySet());
 
+        quantities.forEach((productId, quantity) -> {
+            Product product = products.get(productId);
+            if (product == null) {
+                throw new EntityNotFoundException("상품을 찾을수 없습니다" + productId);
+            }
+            if (product.getStockQuantity() < quantity) {
+                throw new BusinessException("재고가 부족합니다. productId=" + productId, ErrorCode.OUT_OF_STOCK);
+            }
+            //락을 잡고 있으므로 엔티티로 차감 -> 더티 체킹으로 UPDATE
+            product.decreaseStockQuantity(quantity);
+        });
+        return products;
+    }
+
+    //조건부 UPDATE 로 재고 차감 후 주문 금액 계산용 상품 조회
+    private Product decreaseStock(Long productId, int quantity) {
+        int updated = productRepository.decreaseStockQuantity(productId, quantity);
+        if (updated == 0) {
+            if (!productRepository.existsById(productId)) {
+                throw new EntityNotFoundException("상품을 찾을수 없습니다");
+            }
+            //품절/삭제 등 판매중이 아닌 상품도 차감되지 않는다
+            throw new BusinessException("재고가 부족합니다. productId=" + productId, ErrorCode.OUT_OF_STOCK);
+        }
+
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new EntityNotFoundException("상품을 찾을수 없습니다"));
+
+        //조건부 UPDATE 는 엔티티 리스너를 거치지 않으므로 이번 차감으로 품절된 경우 카테고리 상품 수에 직접 반영
+        //(판매중 상품만 차감하므로 품절 + 재고 0 이면 이번 UPDATE 가 ACTIVE -> SOLD_OUT 으로 바꾼 것)
+        if (product.getStatus() == Product.ProductStatus.SOLD_OUT && product.getStockQuantity() == 0) {
+            categoryProductCounter.recordTransition(
+                    Product.ProductStatus.ACTIVE, product.getCategoryId(),
+                    Product.ProductStatus.SOLD_OUT, product.getCategoryId());
+        }
+        return product;
+    }
 }
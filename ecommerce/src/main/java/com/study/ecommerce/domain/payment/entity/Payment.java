@@ -13,7 +13,8 @@ import java.time.LocalDateTime;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Payment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payment_seq_generator")
+    @SequenceGenerator(name = "payment_seq_generator", sequenceName = "payment_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "order_id", nullable = false, unique = true)
@@ -0,0 +1,13 @@
+package com.study.ecommerce.domain.payment.event;
+
+import com.study.ecommerce.domain.payment.entity.Payment.PaymentMethod;
+import com.study.ecommerce.domain.payment.entity.Payment.PaymentStatus;
+
+public record PaymentStatusChangedPayload(
+        Long paymentId,
+        Long orderId,
+        PaymentMethod paymentMethod,
+        PaymentStatus status,
+        Long amount
+) {
+}
@@ -0,0 +1,91 @@
+package com.study.ecommerce.domain.product.controller;
+
+import com.study.ecommerce.domain.product.dto.req.ProductFacet;
+import com.study.ecommerce.domain.product.dto.req.ProductField;
+import com.study.ecommerce.domain.product.dto.req.ProductSearchCondition;
+import com.study.ecommerce.domain.product.dto.resp.ProductCursorResponse;
+import com.study.ecommerce.domain.product.service.CustomerProductService;
+import com.study.ecommerce.domain.product.service.ProductService;
+import com.study.ecommerce.global.error.ErrorCode;
+import com.study.ecommerce.global.error.exception.BusinessException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Set;
+
+/**
+ * 상품 조회 API
+ * fields=id,name,price,stockQuantity 처럼 필드를 지정하면 그 필드만 조회/응답한다 (없으면 전체 응답)
+ * facets=category,price,seller 를 지정하면 목록과 함께 항목별 상품 수를 응답한다
+ * 깊은 페이지는 /cursor 로 조회 (OFFSET/COUNT 없는 keyset 페이지)
+ */
+@RestController
+@RequestMapping("/api/v1/products")
+@RequiredArgsConstructor
+public class ProductController {
+    private final ProductService productService;
+    private final CustomerProductService customerProductService;
+
+    @GetMapping
+    public ResponseEntity<?> getProducts(@ModelAttribute ProductSearchCondition condition,
+                                         Pageable pageable,
+                                         @RequestParam(required = false) String fields,
+                                         @RequestParam(required = false) String facets){
+        Set<ProductField> selected = ProductField.parse(fields);
+        Set<ProductFacet> selectedFacets = ProductFacet.parse(facets);
+        if (selectedFacets != null) {
+            if (selected != null) {
+                throw new BusinessException("fields 와 facets 는 함께 지정할 수 없습니다.", ErrorCode.INVALID_INPUT_VALUE);
+            }
+            return ResponseEntity.ok(productService.searchProducts(condition, pageable, selectedFacets));
+        }
+        if (selected == null) {
+            return ResponseEntity.ok(productService.getProducts(condition, pageable));
+        }
+        return ResponseEntity.ok(productService.getProducts(condition, pageable, selected));
+    }
+
+    /**
+     * 커서(keyset) 기반 목록 -> 다음 페이지는 응답의 nextCursor 를 cursor 로 넘긴다
+     * 정렬은 sort=price,asc / sort=createdAt,desc (그 외는 id 내림차순), 정렬을 바꾸면 처음부터 다시 조회
+     * 검색 조건이 없으면 판매중 상품 전체 조회
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<ProductCursorResponse> getProductsByCursor(
+            @ModelAttribute ProductSearchCondition condition,
+            Sort sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal){
+        if (isEmpty(condition)) {
+            return ResponseEntity.ok(customerProductService.getAllActiveProducts(sort, cursor, size, includeTotal));
+        }
+        return ResponseEntity.ok(productService.searchProducts(condition, sort, cursor, size, includeTotal));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getProduct(@PathVariable Long id,
+                                        @RequestParam(required = false) String fields){
+        Set<ProductField> selected = ProductField.parse(fields);
+        if (selected == null) {
+            return ResponseEntity.ok(customerProductService.getActiveProduct(id));
+        }
+        return ResponseEntity.ok(customerProductService.getActiveProduct(id, selected));
+    }
+
+    private boolean isEmpty(ProductSearchCondition condition) {
+        return (condition.keyword() == null || condition.keyword().isBlank())
+                && condition.categoryId() == null
+                && condition.minPrice() == null
+                && condition.maxPrice() == null
+                && condition.sellerId() == null;
+    }
+}
@@ -0,0 +1,74 @@
+package com.study.ecommerce.domain.product.dto.req;
+
+import com.study.ecommerce.global.error.ErrorCode;
+import com.study.ecommerce.global.error.exception.BusinessException;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 상품 목록 커서 (정렬 컬럼 값, id)
+ * 정렬 조건도 함께 담아서 다른 정렬로 이어 조회하는 것을 막는다
+ * 클라이언트에는 Base64 로 인코딩한 불투명 토큰으로만 노출한다
+ * @param sortProperty price, createdAt, id 중 하나
+ * @param value        마지막 행의 정렬 컬럼 값 (id 정렬이면 null)
+ */
+public record ProductCursor(
+        String sortProperty,
+        boolean ascending,
+        String value,
+        Long id
+) {
+    private static final String DELIMITER = "|";
+
+    /**
+     * 정렬 조건 -> 커서 정렬 키 (값/id 없이 정렬 컬럼과 방향만)
+     * price, createdAt 외의 정렬은 id 내림차순
+     */
+    public static ProductCursor sortKeyOf(Sort sort) {
+        for (Sort.Order order : sort) {
+            return switch (order.getProperty()) {
+                case "price", "createdAt" -> new ProductCursor(order.getProperty(), order.isAscending(), null, null);
+                default -> new ProductCursor("id", false, null, null);
+            };
+        }
+        return new ProductCursor("id", false, null, null);
+    }
+
+    /**
+     * 이 정렬 키로 이어서 조회할 커서 해석 (비어 있으면 null = 첫 페이지)
+     */
+    public ProductCursor resume(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        ProductCursor last = decode(token);
+        if (!last.sortProperty().equals(sortProperty) || last.ascending() != ascending) {
+            throw new BusinessException("커서와 정렬 조건이 다릅니다.", ErrorCode.INVALID_INPUT_VALUE);
+        }
+        return last;
+    }
+
+    public String encode() {
+        String raw = sortProperty + DELIMITER + (ascending ? "asc" : "desc") + DELIMITER
+                + (value != null ? value : "") + DELIMITER + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ProductCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            return new ProductCursor(
+                    parts[0],
+                    "asc".equals(parts[1]),
+                    parts[2].isEmpty() ? null : parts[2],
+                    Long.parseLong(parts[3])
+            );
+        } catch (RuntimeException e) {
+            throw new BusinessException("잘못된 커서입니다.", ErrorCode.INVALID_INPUT_VALUE);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.study.ecommerce.domain.product.dto.req;
+
+import com.study.ecommerce.global.error.ErrorCode;
+import com.study.ecommerce.global.error.exception.BusinessException;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+//검색 결과와 함께 받을 집계 항목 (facets=category,price,seller)
+public enum ProductFacet {
+    CATEGORY, PRICE, SELLER;
+
+    /**
+     * 쉼표로 구분한 집계 목록 -> 집계 집합
+     * @return facets 가 비어 있으면 null (집계 없이 목록만)
+     */
+    public static Set<ProductFacet> parse(String facets) {
+        if (facets == null || facets.isBlank()) {
+            return null;
+        }
+        Set<ProductFacet> result = EnumSet.noneOf(ProductFacet.class);
+        for (String token : facets.split(",")) {
+            String name = token.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            try {
+                result.add(valueOf(name.toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new BusinessException("알 수 없는 집계 항목입니다: " + name, ErrorCode.INVALID_INPUT_VALUE);
+            }
+        }
+        if (result.isEmpty()) {
+            return null;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,63 @@
+package com.study.ecommerce.domain.product.dto.req;
+
+import com.study.ecommerce.global.error.ErrorCode;
+import com.study.ecommerce.global.error.exception.BusinessException;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * 상품 조회 응답에 담을 필드 (fields=id,name,price 형식의 sparse fieldset)
+ * 선택한 필드만 DB 에서 읽고 응답에 쓴다
+ */
+public enum ProductField {
+    ID("id"),
+    NAME("name"),
+    DESCRIPTION("description"),
+    PRICE("price"),
+    STOCK_QUANTITY("stockQuantity"),
+    STATUS("status"),
+    CATEGORY_NAME("categoryName");
+
+    private final String key;
+
+    ProductField(String key) {
+        this.key = key;
+    }
+
+    //응답 JSON 의 키 (ProductResponse 필드명과 같다)
+    public String key() {
+        return key;
+    }
+
+    /**
+     * 쉼표로 구분한 필드 목록 -> 필드 집합 (순서는 enum 순서로 고정)
+     * @return fields 가 비어 있으면 null (전체 응답)
+     */
+    public static Set<ProductField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<ProductField> result = EnumSet.noneOf(ProductField.class);
+        for (String token : fields.split(",")) {
+            String name = token.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            result.add(fromKey(name));
+        }
+        if (result.isEmpty()) {
+            return null;
+        }
+        return result;
+    }
+
+    private static ProductField fromKey(String key) {
+        for (ProductField field : values()) {
+            if (field.key.equals(key)) {
+                return field;
+            }
+        }
+        throw new BusinessException("알 수 없는 필드입니다: " + key, ErrorCode.INVALID_INPUT_VALUE);
+    }
+}
@@ -5,6 +5,8 @@ public record ProductSearchCondition(
         Long categoryId,
         Long minPrice,
         Long maxPrice,
-        Long sellerId
+        Long sellerId,
+        //true 면 categoryId 의 하위 카테고리 상품까지 포함
+        Boolean includeDescendants
 ) {
 }
@@ -0,0 +1,17 @@
+package com.study.ecommerce.domain.product.dto.resp;
+
+import java.util.List;
+
+/**
+ * @param approximateTotal 캐시된 전체 건수 (요청하지 않았으면 null, 최근 상품 변경이 반영되지 않았을 수 있음)
+ */
+public record ProductCursorResponse(
+        List<ProductSummaryDto> products,
+        String nextCursor,
+        boolean hasNext,
+        Long approximateTotal
+) {
+    public ProductCursorResponse withApproximateTotal(Long approximateTotal) {
+        return new ProductCursorResponse(products, nextCursor, hasNext, approximateTotal);
+    }
+}
@@ -0,0 +1,24 @@
+package com.study.ecommerce.domain.product.dto.resp;
+
+import java.util.List;
+
+/**
+ * 검색 조건별 상품 수 (각 항목은 자기 자신의 조건만 빼고 나머지 조건을 적용한 수)
+ * 예) 카테고리를 골라도 카테고리 항목에는 다른 카테고리 수가 그대로 보인다
+ */
+public record ProductFacets(
+        List<FacetCount> categories,
+        List<PriceRangeCount> prices,
+        List<FacetCount> sellers
+) {
+    public static ProductFacets empty() {
+        return new ProductFacets(List.of(), List.of(), List.of());
+    }
+
+    public record FacetCount(Long id, long count) {
+    }
+
+    //min 이상 max 미만 (max 가 null 이면 상한 없음)
+    public record PriceRangeCount(Long min, Long max, long count) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.study.ecommerce.domain.product.dto.resp;
+
+import org.springframework.data.domain.Page;
+
+public record ProductSearchResult(
+        Page<ProductSummaryDto> products,
+        ProductFacets facets
+) {
+}
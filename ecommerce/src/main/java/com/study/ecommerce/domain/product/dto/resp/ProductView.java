@@ -0,0 +1,36 @@
+package com.study.ecommerce.domain.product.dto.resp;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.study.ecommerce.domain.product.dto.req.ProductField;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 요청한 필드만 담은 상품 응답 (직렬화하면 담긴 필드만 JSON 에 나온다, 값이 null 이어도 키는 유지)
+ */
+public record ProductView(@JsonValue Map<String, Object> values) {
+
+    public ProductView {
+        values = Collections.unmodifiableMap(values);
+    }
+
+    //이미 조회한 상세 응답에서 필드만 골라낸다
+    public static ProductView of(ProductResponse product, Set<ProductField> fields) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (ProductField field : fields) {
+            values.put(field.key(), switch (field) {
+                case ID -> product.id();
+                case NAME -> product.name();
+                case DESCRIPTION -> product.description();
+                case PRICE -> product.price();
+                case STOCK_QUANTITY -> product.stockQuantity();
+                case STATUS -> product.status();
+                case CATEGORY_NAME -> product.categoryName();
+            });
+        }
+        return new ProductView(values);
+    }
+}
@@ -7,13 +7,18 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import java.util.Objects;
+
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
+//색인 리스너가 로드 상태와 비교한 뒤에 상태 리스너가 로드 상태를 갱신하도록 순서 유지
+@EntityListeners({ProductSearchIndexListener.class, ProductStatusListener.class})
 //최대한 연간 관계를 맺지 마라 -> 자유도 증가
 public class Product  extends BaseTimeEntity{
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq_generator")
+    @SequenceGenerator(name = "product_seq_generator", sequenceName = "product_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -37,6 +42,20 @@ public class Product  extends BaseTimeEntity{
     @Column(name = "category_id")
     private Long categoryId;
 
+    //마지막으로 DB 와 맞춰진 상태/카테고리 (카테고리별 상품 수 증감 계산용)
+    @Transient
+    private ProductStatus loadedStatus;
+
+    @Transient
+    private Long loadedCategoryId;
+
+    //마지막으로 DB 와 맞춰진 이름/설명 (검색 색인 반영 여부 판단용)
+    @Transient
+    private String loadedName;
+
+    @Transient
+    private String loadedDescription;
+
     @Builder
     public Product(String name, String description,
                    Long price, Integer stockQuantity,
@@ -96,5 +115,19 @@ public class Product  extends BaseTimeEntity{
         this.status = ProductStatus.DELETED;
     }
 
+    void markLoadedState() {
+        this.loadedStatus = this.status;
+        this.loadedCategoryId = this.categoryId;
+        this.loadedName = this.name;
+        this.loadedDescription = this.description;
+    }
+
+    //검색 색인 문서(이름/설명/삭제 여부)가 로드 이후 바뀌었는지
+    boolean isSearchDocumentChanged() {
+        return !Objects.equals(loadedName, name)
+                || !Objects.equals(loadedDescription, description)
+                || (loadedStatus == ProductStatus.DELETED) != (status == ProductStatus.DELETED);
+    }
+
 
 }
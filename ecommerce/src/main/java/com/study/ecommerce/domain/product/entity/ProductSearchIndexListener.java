@@ -0,0 +1,62 @@
+package com.study.ecommerce.domain.product.entity;
+
+import com.study.ecommerce.domain.product.repository.ProductSearchDocument;
+import com.study.ecommerce.domain.product.service.ProductSearchIndex;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 상품 생성/수정/삭제를 커밋 후 검색 색인에 반영 (롤백된 변경은 색인에 들어가지 않는다)
+ * 재고 차감 등 JPQL 벌크 UPDATE 는 이름/설명을 바꾸지 않으므로 색인과 무관하다
+ * 더티 체킹 UPDATE 도 재고/가격만 바뀌었으면 색인 문서가 같으므로 건너뛴다
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductSearchIndexListener {
+    private final ProductSearchIndex productSearchIndex;
+
+    @PostPersist
+    public void onPersist(Product product) {
+        put(product);
+    }
+
+    //ProductStatusListener 가 로드 상태를 갱신하기 전에 호출된다 (@EntityListeners 선언 순서)
+    @PostUpdate
+    public void onUpdate(Product product) {
+        if (product.isSearchDocumentChanged()) {
+            put(product);
+        }
+    }
+
+    @PostRemove
+    public void onRemove(Product product) {
+        Long productId = product.getId();
+        afterCommit(() -> productSearchIndex.remove(productId));
+    }
+
+    private void put(Product product) {
+        Long productId = product.getId();
+        ProductSearchDocument document = product.getStatus() == Product.ProductStatus.DELETED
+                ? new ProductSearchDocument(productId, null, null)
+                : new ProductSearchDocument(productId, product.getName(), product.getDescription());
+        afterCommit(() -> productSearchIndex.put(document));
+    }
+
+    private void afterCommit(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
+    }
+}
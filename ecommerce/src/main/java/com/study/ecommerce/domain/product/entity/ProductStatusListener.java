@@ -0,0 +1,47 @@
+package com.study.ecommerce.domain.product.entity;
+
+import com.study.ecommerce.domain.category.service.CategoryProductCounter;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * 상품 상태/카테고리 변경을 카테고리별 상품 수에 반영
+ * 로드 시점 상태를 기억해 두고 INSERT/UPDATE/DELETE 후 비교한다 (Spring 빈으로 생성되는 JPA 엔티티 리스너)
+ * 리스너는 EntityManagerFactory 생성 중에 만들어지므로 카운터(-> CategoryRepository -> EntityManagerFactory)는
+ * 처음 쓸 때 꺼낸다 (생성자에서 바로 주입하면 순환 참조로 기동 실패)
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductStatusListener {
+    private final ObjectProvider<CategoryProductCounter> categoryProductCounter;
+
+    @PostLoad
+    public void onLoad(Product product) {
+        product.markLoadedState();
+    }
+
+    @PostPersist
+    public void onPersist(Product product) {
+        categoryProductCounter.getObject().recordTransition(null, null, product.getStatus(), product.getCategoryId());
+        product.markLoadedState();
+    }
+
+    @PostUpdate
+    public void onUpdate(Product product) {
+        categoryProductCounter.getObject().recordTransition(
+                product.getLoadedStatus(), product.getLoadedCategoryId(),
+                product.getStatus(), product.getCategoryId());
+        product.markLoadedState();
+    }
+
+    @PostRemove
+    public void onRemove(Product product) {
+        categoryProductCounter.getObject().recordTransition(
+                product.getLoadedStatus(), product.getLoadedCategoryId(), null, null);
+    }
+}
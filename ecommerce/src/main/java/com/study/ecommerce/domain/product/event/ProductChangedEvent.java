@@ -0,0 +1,17 @@
+package com.study.ecommerce.domain.product.event;
+
+import java.util.Collection;
+import java.util.List;
+
+//상품 생성/수정/삭제/재고 변경 (커밋 후 상품 상세 캐시 무효화, 검색 결과 캐시 세대 증가)
+public record ProductChangedEvent(
+        List<Long> productIds
+) {
+    public static ProductChangedEvent of(Long productId) {
+        return new ProductChangedEvent(List.of(productId));
+    }
+
+    public static ProductChangedEvent of(Collection<Long> productIds) {
+        return new ProductChangedEvent(List.copyOf(productIds));
+    }
+}
@@ -0,0 +1,10 @@
+package com.study.ecommerce.domain.product.repository;
+
+import com.study.ecommerce.domain.product.entity.Product.ProductStatus;
+
+import java.time.LocalDateTime;
+
+//집계/색인 검색 스냅샷용 상품 컬럼
+public record ProductFacetRow(Long id, Long categoryId, Long price, Long sellerId, ProductStatus status,
+                              LocalDateTime createdAt) {
+}
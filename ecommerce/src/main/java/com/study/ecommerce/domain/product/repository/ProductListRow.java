@@ -0,0 +1,8 @@
+package com.study.ecommerce.domain.product.repository;
+
+import com.study.ecommerce.domain.product.entity.Product.ProductStatus;
+
+//목록 조회용 상품 컬럼 (description 제외, 카테고리 이름은 서비스에서 사전으로 채운다)
+public record ProductListRow(Long id, String name, Long price, Integer stockQuantity,
+                             ProductStatus status, Long categoryId) {
+}
@@ -1,10 +1,51 @@
 package com.study.ecommerce.domain.product.repository;
 
+import com.study.ecommerce.domain.product.dto.req.ProductField;
 import com.study.ecommerce.domain.product.dto.req.ProductSearchCondition;
+import com.study.ecommerce.domain.product.dto.resp.ProductCursorResponse;
 import com.study.ecommerce.domain.product.dto.resp.ProductSummaryDto;
+import com.study.ecommerce.domain.product.dto.resp.ProductView;
+import com.study.ecommerce.domain.product.entity.Product.ProductStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 상품 검색 SQL (Querydsl)
+ * 키워드는 이름/설명 LIKE 로 조회한다 (검색 색인으로 답할 수 없을 때)
+ * 색인 검색은 서비스 계층(ProductKeywordSearch)이 메모리에서 거르고 정렬한 페이지 id 만 ...ByIds 로 읽는다
+ */
 public interface ProductQueryRepository {
     Page<ProductSummaryDto> searchProducts(ProductSearchCondition condition, Pageable pageable);
+
+    //fields 에 담긴 컬럼만 조회 (카테고리 이름을 고르지 않으면 카테고리 조인도 없다)
+    Page<ProductView> searchProductFields(ProductSearchCondition condition, Pageable pageable, Set<ProductField> fields);
+
+    //커서(keyset) 기반 검색 (COUNT 없음, approximateTotal 은 null)
+    ProductCursorResponse searchProductsByCursor(ProductSearchCondition condition, Sort sort, String cursor, int size);
+
+    long countProducts(ProductSearchCondition condition);
+
+    //페이지 id 의 목록 컬럼 (id 순서 유지, 검색 조건을 다시 걸어서 스냅샷 이후 바뀐 상품은 빠진다)
+    List<ProductSummaryDto> findSummariesByIds(ProductSearchCondition condition, List<Long> productIds);
+
+    List<ProductView> findFieldsByIds(ProductSearchCondition condition, List<Long> productIds, Set<ProductField> fields);
+
+    //색인으로 처리하지 못한 키워드의 판매중 상품 id (집계 후보)
+    List<Long> findActiveIdsByKeyword(String keyword);
+
+    //카테고리 조건에 해당하는 카테고리 id (하위 포함이면 경로로 조회, categoryId 가 null 이면 null)
+    Set<Long> findCategoryIds(Long categoryId, Boolean includeDescendants);
+
+    //목록 조회는 필요한 컬럼만 projection (description 을 읽지 않고, 엔티티를 영속성 컨텍스트에 올리지 않는다)
+    List<ProductListRow> findListRowsByCategoryIdAndStatus(Long categoryId, ProductStatus status);
+
+    Page<ProductListRow> findListRowsByStatus(ProductStatus status, Pageable pageable);
+
+    Page<ProductListRow> findListRowsByStatusAndNameContaining(ProductStatus status, String name, Pageable pageable);
+
+    List<ProductListRow> findListRowsByPriceBetween(Long minPrice, Long maxPrice, ProductStatus status);
 }
@@ -0,0 +1,539 @@
+package com.study.ecommerce.domain.product.repository;
+
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.ConstructorExpression;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.ExpressionUtils;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.study.ecommerce.domain.category.entity.QCategory;
+import com.study.ecommerce.domain.member.entity.QMember;
+import com.study.ecommerce.domain.product.dto.req.ProductCursor;
+import com.study.ecommerce.domain.product.dto.req.ProductField;
+import com.study.ecommerce.domain.product.dto.req.ProductSearchCondition;
+import com.study.ecommerce.domain.product.dto.resp.ProductCursorResponse;
+import com.study.ecommerce.domain.product.dto.resp.ProductSummaryDto;
+import com.study.ecommerce.domain.product.dto.resp.ProductView;
+import com.study.ecommerce.domain.product.entity.Product;
+import com.study.ecommerce.domain.product.entity.QProduct;
+import com.study.ecommerce.global.error.ErrorCode;
+import com.study.ecommerce.global.error.exception.BusinessException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.util.StringUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+@RequiredArgsConstructor
+public class ProductQueryRepositoryImpl implements ProductQueryRepository {
+    private final JPAQueryFactory queryFactory;
+
+    @Override
+    public Page<ProductSummaryDto> searchProducts(ProductSearchCondition condition, Pageable pageable) {
+        QProduct product = QProduct.product;
+        QCategory category = QCategory.category;
+        QMember member = QMember.member;
+
+//       동적 쿼리 생성하기 위한 조건 = where절 을 만드는 도구이다.
+//       유연성,재사용성,가독성
+//        BooleanBuilder builder = new BooleanBuilder();
+//
+//        if (StringUtils.hasText(condition.keyword())){
+//            builder.and(product.name.containsIgnoreCase(condition.keyword()))
+//                    .or(product.description.containsIgnoreCase(condition.keyword()));
+//        }
+//
+//        if (condition.categoryId() != null){
+//            builder.and(product.categoryId.eq(condition.categoryId()));
+//        }
+//
+//        if (condition.minPrice() != null){
+//            builder.and(product.price.goe(condition.minPrice()));
+//        }
+//
+//        if (condition.maxPrice() != null){
+//            builder.and(product.price.loe(condition.maxPrice()));
+//        }
+//
+//        if (condition.sellerId() != null){
+//            builder.and(product.sellerId.eq(condition.sellerId()));
+//        }
+//
+//        builder.and(product.status.eq(Product.ProductStatus.ACTIVE));
+//
+//        //전체 카운트 쿼리
+//        JPAQuery<Long> countQuery = queryFactory
+//                .select(product.count())
+//                .from(product)
+//                .where(builder);
+//
+//        //조인 없이 카테고리 이름 가져오기, 서브 퀄리 방식
+//        List<ProductSummaryDto> summaryDtos = queryFactory
+//                .select(Projections.constructor(ProductSummaryDto.class,
+//                        product.id,
+//                        product.name,
+//                        product.price,
+//                        product.stockQuantity,
+//                        //카테고림 이름 대신 상수 값을 반환
+//                        Expressions.asString("Category").as("categoryName"),
+//                        product.status))
+//                .from(product)
+//                .where(builder, category.id.eq(product.categoryId))
+//                .offset(pageable.getOffset())
+//                .limit(pageable.getPageSize())
+//                .orderBy(getOrderSpecifier(pageable, product))
+//                .distinct()
+//                .fetch(); //단일 값은 fetone, fetch()LIst형태로 가져옴
+//
+//        //실제 조회 쿼리 -sql를 메소드로 구성하는게 다임
+//        return PageableExecutionUtils.getPage(summaryDtos, pageable,countQuery::fetchOne);
+    //하위 카테고리 포함 시 경로 조회가 있으므로 content/count 쿼리에서 한 번만 만든다
+    BooleanExpression[] filters = filters(condition, keywordContains(condition.keyword()));
+
+    List<ProductSummaryDto> content = selectSummary()
+            .where(filters)
+            .offset(pageable.getOffset())
+            .limit(pageable.getPageSize())
+            .orderBy(getOrderSpecifier(pageable,product))
+            .fetch();
+
+       JPAQuery<Long> countQuery = queryFactory
+                .select(product.count())
+                .from(product)
+                .where(filters);
+
+        //PageableExecutionUtils.getPage -> 페이징 처리를 최적화 해주는 유틸리티 불필요한 제거 성능 향상 해준다.
+        return PageableExecutionUtils.getPage(content, pageable, countQuery::fetchOne);
+    }
+
+    @Override
+    public List<Long> findActiveIdsByKeyword(String keyword) {
+        QProduct product = QProduct.product;
+        return queryFactory
+                .select(product.id)
+                .from(product)
+                .where(keywordContains(keyword), statusActive())
+                .fetch();
+    }
+
+    /**
+     * 커서(keyset) 기반 검색
+     * OFFSET/COUNT 없이 (정렬 컬럼, id) 가 마지막 행보다 뒤인 행만 size + 1 개 읽는다
+     * 정렬은 getOrderSpecifier 와 같은 규칙 (price, createdAt, 그 외는 id 내림차순) 이고 같은 값은 id 로 구분한다
+     */
+    @Override
+    public ProductCursorResponse searchProductsByCursor(ProductSearchCondition condition, Sort sort,
+                                                        String cursor, int size) {
+        QProduct product = QProduct.product;
+        ProductCursor sortKey = ProductCursor.sortKeyOf(sort);
+        ProductCursor last = sortKey.resume(cursor);
+        BooleanExpression keywordCondition = keywordContains(condition.keyword());
+
+        //다음 페이지 존재 여부 확인을 위해 하나 더 조회
+        List<Tuple> rows = queryFactory
+                .select(summaryProjection(), product.price, product.createdAt)
+                .from(product)
+                .leftJoin(QCategory.category).on(product.categoryId.eq(QCategory.category.id))
+                .where(ExpressionUtils.allOf(filters(condition, keywordCondition)), seekAfter(sortKey, last))
+                .orderBy(keysetOrder(sortKey))
+                .limit(size + 1L)
+                .fetch();
+
+        boolean hasNext = rows.size() > size;
+        List<Tuple> page = hasNext ? rows.subList(0, size) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            Tuple lastRow = page.get(page.size() - 1);
+            ProductSummaryDto lastProduct = lastRow.get(0, ProductSummaryDto.class);
+            String value = switch (sortKey.sortProperty()) {
+                case "price" -> String.valueOf(lastRow.get(product.price));
+                case "createdAt" -> String.valueOf(lastRow.get(product.createdAt));
+                default -> null;
+            };
+            nextCursor = new ProductCursor(sortKey.sortProperty(), sortKey.ascending(), value, lastProduct.id()).encode();
+        }
+
+        List<ProductSummaryDto> content = page.stream()
+                .map(row -> row.get(0, ProductSummaryDto.class))
+                .toList();
+        return new ProductCursorResponse(content, nextCursor, hasNext, null);
+    }
+
+    @Override
+    public long countProducts(ProductSearchCondition condition) {
+        QProduct product = QProduct.product;
+        Long count = queryFactory
+                .select(product.count())
+                .from(product)
+                .where(filters(condition, keywordContains(condition.keyword())))
+                .fetchOne();
+        return count != null ? count : 0L;
+    }
+
+    @Override
+    public List<ProductSummaryDto> findSummariesByIds(ProductSearchCondition condition, List<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return List.of();
+        }
+        QProduct product = QProduct.product;
+        Map<Long, ProductSummaryDto> byId = new HashMap<>();
+        for (ProductSummaryDto dto : selectSummary().where(filters(condition, product.id.in(productIds))).fetch()) {
+            byId.put(dto.id(), dto);
+        }
+        return productIds.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    public List<ProductView> findFieldsByIds(ProductSearchCondition condition, List<Long> productIds,
+                                             Set<ProductField> fields) {
+        if (productIds.isEmpty()) {
+            return List.of();
+        }
+        QProduct product = QProduct.product;
+        List<Expression<?>> columns = fieldColumns(fields);
+        Map<Long, ProductView> byId = new HashMap<>();
+        for (Tuple row : selectFields(fields, columns).where(filters(condition, product.id.in(productIds))).fetch()) {
+            byId.put(row.get(product.id), toView(row, fields, columns));
+        }
+        return productIds.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    //(정렬 컬럼, id) 가 마지막 행보다 뒤 -> col > v OR (col = v AND id > lastId) (내림차순이면 부등호 반대)
+    private BooleanExpression seekAfter(ProductCursor sortKey, ProductCursor last) {
+        if (last == null) {
+            return null;
+        }
+        QProduct product = QProduct.product;
+        boolean asc = sortKey.ascending();
+        BooleanExpression idAfter = asc ? product.id.gt(last.id()) : product.id.lt(last.id());
+        try {
+            return switch (sortKey.sortProperty()) {
+                case "price" -> {
+                    Long price = Long.valueOf(last.value());
+                    yield (asc ? product.price.gt(price) : product.price.lt(price))
+                            .or(product.price.eq(price).and(idAfter));
+                }
+                case "createdAt" -> {
+                    LocalDateTime createdAt = LocalDateTime.parse(last.value());
+                    yield (asc ? product.createdAt.gt(createdAt) : product.createdAt.lt(createdAt))
+                            .or(product.createdAt.eq(createdAt).and(idAfter));
+                }
+                default -> idAfter;
+            };
+        } catch (RuntimeException e) {
+            throw new BusinessException("잘못된 커서입니다.", ErrorCode.INVALID_INPUT_VALUE);
+        }
+    }
+
+    private OrderSpecifier<?>[] keysetOrder(ProductCursor sortKey) {
+        QProduct product = QProduct.product;
+        boolean asc = sortKey.ascending();
+        OrderSpecifier<Long> idOrder = asc ? product.id.asc() : product.id.desc();
+        return switch (sortKey.sortProperty()) {
+            case "price" -> new OrderSpecifier<?>[]{asc ? product.price.asc() : product.price.desc(), idOrder};
+            case "createdAt" -> new OrderSpecifier<?>[]{asc ? product.createdAt.asc() : product.createdAt.desc(), idOrder};
+            default -> new OrderSpecifier<?>[]{idOrder};
+        };
+    }
+
+    /**
+     * sparse fieldset 검색
+     * 조건/정렬은 searchProducts 와 같고, SELECT 절만 요청한 필드로 만든다
+     * id 는 페이지 재정렬에 필요해서 항상 읽지만 요청하지 않았으면 응답에서 뺀다
+     */
+    @Override
+    public Page<ProductView> searchProductFields(ProductSearchCondition condition, Pageable pageable,
+                                                 Set<ProductField> fields) {
+        QProduct product = QProduct.product;
+        BooleanExpression[] filters = filters(condition, keywordContains(condition.keyword()));
+        List<Expression<?>> columns = fieldColumns(fields);
+
+        List<ProductView> content = selectFields(fields, columns)
+                .where(filters)
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .orderBy(getOrderSpecifier(pageable, product))
+                .fetch()
+                .stream()
+                .map(row -> toView(row, fields, columns))
+                .toList();
+        JPAQuery<Long> countQuery = queryFactory
+                .select(product.count())
+                .from(product)
+                .where(filters);
+        return PageableExecutionUtils.getPage(content, pageable, countQuery::fetchOne);
+    }
+
+    @Override
+    public List<ProductListRow> findListRowsByCategoryIdAndStatus(Long categoryId, Product.ProductStatus status) {
+        QProduct product = QProduct.product;
+        return selectListRow()
+                .where(product.categoryId.eq(categoryId), product.status.eq(status))
+                .fetch();
+    }
+
+    @Override
+    public Page<ProductListRow> findListRowsByStatus(Product.ProductStatus status, Pageable pageable) {
+        return listRowPage(QProduct.product.status.eq(status), pageable);
+    }
+
+    @Override
+    public Page<ProductListRow> findListRowsByStatusAndNameContaining(Product.ProductStatus status, String name,
+                                                                      Pageable pageable) {
+        QProduct product = QProduct.product;
+        return listRowPage(product.status.eq(status).and(product.name.containsIgnoreCase(name)), pageable);
+    }
+
+    @Override
+    public List<ProductListRow> findListRowsByPriceBetween(Long minPrice, Long maxPrice, Product.ProductStatus status) {
+        QProduct product = QProduct.product;
+        return selectListRow()
+                .where(product.price.between(minPrice, maxPrice), product.status.eq(status))
+                .orderBy(product.price.asc(), product.id.asc())
+                .fetch();
+    }
+
+    //첫 번째 컬럼은 항상 id, 이후는 fields 순서 (ID 는 중복으로 넣지 않는다)
+    private List<Expression<?>> fieldColumns(Set<ProductField> fields) {
+        QProduct product = QProduct.product;
+        List<Expression<?>> columns = new ArrayList<>(fields.size() + 1);
+        columns.add(product.id);
+        for (ProductField field : fields) {
+            switch (field) {
+                case ID -> { }
+                case NAME -> columns.add(product.name);
+                case DESCRIPTION -> columns.add(product.description);
+                case PRICE -> columns.add(product.price);
+                case STOCK_QUANTITY -> columns.add(product.stockQuantity);
+                case STATUS -> columns.add(product.status);
+                case CATEGORY_NAME -> columns.add(QCategory.category.name.coalesce("분류 없음"));
+            }
+        }
+        return columns;
+    }
+
+    private JPAQuery<Tuple> selectFields(Set<ProductField> fields, List<Expression<?>> columns) {
+        QProduct product = QProduct.product;
+        QCategory category = QCategory.category;
+        JPAQuery<Tuple> query = queryFactory
+                .select(columns.toArray(new Expression<?>[0]))
+                .from(product);
+        if (fields.contains(ProductField.CATEGORY_NAME)) {
+            query.leftJoin(category).on(product.categoryId.eq(category.id));
+        }
+        return query;
+    }
+
+    private ProductView toView(Tuple row, Set<ProductField> fields, List<Expression<?>> columns) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        int column = 1;
+        for (ProductField field : fields) {
+            Object value = field == ProductField.ID ? row.get(0, Long.class) : row.get(column++, Object.class);
+            values.put(field.key(), value);
+        }
+        return new ProductView(values);
+    }
+
+    private Page<ProductListRow> listRowPage(Predicate filter, Pageable pageable) {
+        QProduct product = QProduct.product;
+        List<ProductListRow> content = selectListRow()
+                .where(filter)
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .orderBy(getOrderSpecifier(pageable, product))
+                .fetch();
+        JPAQuery<Long> countQuery = queryFactory
+                .select(product.count())
+                .from(product)
+                .where(filter);
+        return PageableExecutionUtils.getPage(content, pageable, countQuery::fetchOne);
+    }
+
+    //DTO projection 은 관리 대상 엔티티가 아니라서 스냅샷/더티 체킹 비용이 없다
+    private JPAQuery<ProductListRow> selectListRow() {
+        QProduct product = QProduct.product;
+        return queryFactory
+                .select(Projections.constructor(ProductListRow.class,
+                        product.id,
+                        product.name,
+                        product.price,
+                        product.stockQuantity,
+                        product.status,
+                        product.categoryId
+                ))
+                .from(product);
+    }
+
+    private JPAQuery<ProductSummaryDto> selectSummary() {
+        QProduct product = QProduct.product;
+        QCategory category = QCategory.category;
+        return queryFactory
+                .select(summaryProjection())
+                .from(product)
+                .leftJoin(category).on(product.categoryId.eq(category.id));
+    }
+
+    private ConstructorExpression<ProductSummaryDto> summaryProjection() {
+        QProduct product = QProduct.product;
+        QCategory category = QCategory.category;
+        return Projections.constructor(ProductSummaryDto.class,
+                product.id,
+                product.name,
+                product.price,
+                product.stockQuantity,
+                // coalesce :null일 경우에  뒷 값을 사용해줘 |양방향 관계를 최대한 지향한다
+                category.name.coalesce("분류 없음").as("categoryName"),
+                product.status
+        );
+    }
+
+    //키워드 조건 + 나머지 검색 조건 (판매중 상품만)
+    private BooleanExpression[] filters(ProductSearchCondition condition, BooleanExpression keywordCondition) {
+        return new BooleanExpression[]{
+                keywordCondition,
+                categoryIdEq(condition.categoryId(), condition.includeDescendants()),
+                priceGoe(toBigDecimal(condition.minPrice())),
+                priceLoe(toBigDecimal(condition.maxPrice())),
+                sellerIdEq(condition.sellerId()),
+                statusActive()
+        };
+    }
+
+    private BigDecimal toBigDecimal(Long value) {
+        return value != null ? BigDecimal.valueOf(value) : null;
+    }
+
+    /**
+     * 키워드 조건 검색
+     * @param keyword,
+     * @return BooleanEXpression
+     * */
+    private BooleanExpression keywordContains(String keyword){
+        if(!StringUtils.hasText(keyword)){
+            return null;
+        }
+
+        QProduct product = QProduct.product;
+        return product.name.containsIgnoreCase(keyword)
+                .or(product.description.containsIgnoreCase(keyword));
+    }
+
+    private BooleanExpression priceGoe(BigDecimal minPrice){
+        return minPrice !=  null ? QProduct.product.price.goe(minPrice) : null;
+    }
+
+    private BooleanExpression priceLoe(BigDecimal masPrice){
+        return masPrice !=  null ? QProduct.product.price.loe(masPrice) : null;
+    }
+
+    private BooleanExpression sellerIdEq(Long sellerId){
+        return sellerId !=  null ? QProduct.product.sellerId.eq(sellerId) : null;
+    }
+    /**
+     * 카테고리 ID 조건
+     * @param categoryId
+     * @return  BooleanExpression
+     * */
+
+    private BooleanExpression categoryIdEq(Long categoryId, Boolean includeDescendants){
+        if (categoryId == null) {
+            return null;
+        }
+        if (!Boolean.TRUE.equals(includeDescendants)) {
+            return QProduct.product.categoryId.eq(categoryId);
+        }
+
+        //경로를 상수로 넘겨야 path LIKE '/1/3/%' 가 category(path) 인덱스 범위 조회가 된다
+        String path = categoryPath(categoryId);
+        if (path == null) {
+            return QProduct.product.categoryId.eq(categoryId);
+        }
+
+        QCategory subCategory = new QCategory("subCategory");
+        return QProduct.product.categoryId.in(
+                JPAExpressions.select(subCategory.id)
+                        .from(subCategory)
+                        .where(subCategory.path.startsWith(path))
+        );
+    }
+
+    @Override
+    public Set<Long> findCategoryIds(Long categoryId, Boolean includeDescendants) {
+        if (categoryId == null) {
+            return null;
+        }
+        String path = Boolean.TRUE.equals(includeDescendants) ? categoryPath(categoryId) : null;
+        if (path == null) {
+            return Set.of(categoryId);
+        }
+        QCategory category = QCategory.category;
+        return new HashSet<>(queryFactory
+                .select(category.id)
+                .from(category)
+                .where(category.path.startsWith(path))
+                .fetch());
+    }
+
+    private String categoryPath(Long categoryId) {
+        QCategory category = QCategory.category;
+        return queryFactory
+                .select(category.path)
+                .from(category)
+                .where(category.id.eq(categoryId))
+                .fetchOne();
+    }
+
+    private BooleanExpression statusActive(){
+        return QProduct.product.status.eq(Product.ProductStatus.ACTIVE);
+    }
+
+    //BigDecimal은 Java 언어에서 숫자를 정밀하게 저장하고 표현할 수 있는 유일한 방법이다.
+    private BooleanExpression priceBetween(BigDecimal minPrice, BigDecimal maxPrice){
+        return priceGoe(minPrice).and(priceLoe(maxPrice));
+    }
+
+    private BooleanExpression stockAvailable(){
+        return QProduct.product.stockQuantity.gt(0);
+    }
+
+
+    private OrderSpecifier<?> getOrderSpecifier(Pageable pageable, QProduct product) {
+        if (!pageable.getSort().isEmpty()) {
+            for (Sort.Order order : pageable.getSort()) {
+                return switch (order.getProperty()) {
+                    case "price" -> order.isAscending() ? product.price.asc() : product.price.desc();
+                    case "createdAt" -> order.isAscending() ? product.createdAt.asc() : product.createdAt.desc();
+                    default -> product.id.desc();
+                };
+            }
+        }
+
+        return product.id.desc();
+    }
+}
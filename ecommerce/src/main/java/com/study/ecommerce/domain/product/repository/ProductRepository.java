@@ -4,42 +4,123 @@ import com.study.ecommerce.domain.category.entity.Category;
 import com.study.ecommerce.domain.product.entity.Product;
 import com.study.ecommerce.domain.product.entity.Product.ProductStatus;
 import jakarta.persistence.LockModeType;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 public interface ProductRepository extends JpaRepository<Product, Long>, ProductQueryRepository{
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("select p from Product p where p.id = :id")
     Optional<Product> findByIdWithPessimisticLock(@Param("id") Long productId);
 
+    //상품 목록을 IN 쿼리 한 번으로 조회해서 id 로 매핑 (N+1 방지)
+    default Map<Long, Product> findAllByIdAsMap(Collection<Long> productIds) {
+        return findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+    }
+
+    /**
+     * 주문에 포함된 상품 전체를 한 번에 락
+     * 항상 id 오름차순으로 락을 잡기 때문에 같은 상품을 서로 다른 순서로 담은 주문끼리 데드락이 나지 않는다
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from Product p where p.id in :ids order by p.id")
+    List<Product> findAllByIdInWithPessimisticLock(@Param("ids") Collection<Long> productIds);
+
+    /**
+     * 재고 일괄 원복 전에 상품 row 를 id 오름차순으로 락 잡고 상태/카테고리만 읽는다
+     * 원복 UPDATE 가 품절 -> 판매중으로 되돌린 상품을 정확히 알기 위함 (락을 잡았으므로 그 사이 상태가 바뀌지 않는다)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select new com.study.ecommerce.domain.product.repository.ProductStatusRow(p.id, p.status, p.categoryId) " +
+            "from Product p where p.id in :ids order by p.id")
+    List<ProductStatusRow> lockStatusesByIds(@Param("ids") Collection<Long> productIds);
+
+    default Map<Long, Product> lockAllByIds(Collection<Long> productIds) {
+        return findAllByIdInWithPessimisticLock(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+    }
+
+    /**
+     * 조건부 재고 차감 (락 조회 없이 UPDATE 한 번)
+     * 판매중(ACTIVE) 상품만 차감하므로 이번 차감으로 품절되면 항상 ACTIVE -> SOLD_OUT 전이다
+     * 재고가 부족하거나 판매중이 아니면 0건 갱신 -> 호출하는 쪽에서 품절/초과 판매로 판단
+     * status 를 먼저 SET 해야 MySQL(좌->우 평가)에서도 차감 전 재고로 SOLD_OUT 여부를 판단한다
+     * @return 갱신된 row 수 (1: 성공, 0: 재고 부족, 판매중 아님 또는 상품 없음)
+     */
+    @Modifying
+    @Query("UPDATE Product p SET " +
+            "p.status = CASE WHEN p.stockQuantity = :quantity THEN :soldOut ELSE p.status END, " +
+            "p.stockQuantity = p.stockQuantity - :quantity, " +
+            "p.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE p.id = :id AND p.stockQuantity >= :quantity AND p.status = :active")
+    int decreaseStockQuantity(@Param("id") Long productId,
+                              @Param("quantity") int quantity,
+                              @Param("soldOut") ProductStatus soldOut,
+                              @Param("active") ProductStatus active);
+
+    default int decreaseStockQuantity(Long productId, int quantity) {
+        return decreaseStockQuantity(productId, quantity, ProductStatus.SOLD_OUT, ProductStatus.ACTIVE);
+    }
+
+    /**
+     * 재고 원복 (엔티티 조회 없이 UPDATE 한 번)
+     * 품절(SOLD_OUT) 상품만 판매중으로 되돌리고, 삭제(DELETED) 상품의 상태는 그대로 둔다
+     */
+    @Modifying
+    @Query("UPDATE Product p SET " +
+            "p.status = CASE WHEN p.status = :soldOut THEN :active ELSE p.status END, " +
+            "p.stockQuantity = p.stockQuantity + :quantity, " +
+            "p.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE p.id = :id")
+    int increaseStockQuantity(@Param("id") Long productId,
+                              @Param("quantity") int quantity,
+                              @Param("soldOut") ProductStatus soldOut,
+                              @Param("active") ProductStatus active);
+
+    default int increaseStockQuantity(Long productId, int quantity) {
+        return increaseStockQuantity(productId, quantity, ProductStatus.SOLD_OUT, ProductStatus.ACTIVE);
+    }
+
     @Lock(LockModeType.OPTIMISTIC)
     @Query("select p from Product p where p.id = :id")
     Optional<Product> findByIdWithOptimisticLock(@Param("id") Long productId);
 
-    List<Product> findByCategoryIdAndStatus(Long categoryId,ProductStatus productStatus);
-
-    Page<Product> findByStatus(ProductStatus productStatus, Pageable pageable);
-
     Optional<Product> findByIdAndStatus(Long id, ProductStatus productStatus);
 
-    @Query("SELECT p FROM Product p WHERE p.status = :status AND LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%'))")
-    Page<Product> findByStatusAndNameLikeIgnoreCase(
-            @Param("status") Product.ProductStatus status, @Param("name") String name, Pageable pageable);
+    //검색 색인 재구성용 (id 커서 배치 조회, 삭제 상품 제외)
+    @Query("SELECT new com.study.ecommerce.domain.product.repository.ProductSearchDocument(p.id, p.name, p.description) " +
+            "FROM Product p WHERE p.id > :id AND p.status <> :deleted ORDER BY p.id")
+    List<ProductSearchDocument> findSearchDocumentsAfter(@Param("id") Long id,
+                                                         @Param("deleted") ProductStatus deleted,
+                                                         Pageable pageable);
+
+    //집계 스냅샷 재구성용 (id 커서 배치 조회, 삭제 상품 제외)
+    @Query("SELECT new com.study.ecommerce.domain.product.repository.ProductFacetRow(p.id, p.categoryId, p.price, p.sellerId, p.status, p.createdAt) " +
+            "FROM Product p WHERE p.id > :id AND p.status <> :deleted ORDER BY p.id")
+    List<ProductFacetRow> findFacetRowsAfter(@Param("id") Long id,
+                                             @Param("deleted") ProductStatus deleted,
+                                             Pageable pageable);
 
-//    @Query("select p from Product p where p.price bewtween : minPrice and :maxPrice and p.status = 'ACTIVE'")
-    List<Product> findPriceBetweenProduct(@Param("minPrice") Long minPrice, @Param("maxPrice") Long maxPrice);
+    //스냅샷 이후 색인에 들어온 상품의 집계 컬럼
+    @Query("SELECT new com.study.ecommerce.domain.product.repository.ProductFacetRow(p.id, p.categoryId, p.price, p.sellerId, p.status, p.createdAt) " +
+            "FROM Product p WHERE p.id IN :ids")
+    List<ProductFacetRow> findFacetRowsByIds(@Param("ids") Collection<Long> productIds);
 
-//    @Query("select p from Product p where p.category_id =: categoryId and p.name like %:keyword:% and p.status = :status")
-    Optional<Product> findByCategoryAndNameContainingAndStatus(
-            @Param("categoryId") Long categoryId,
-            @Param("keyword") String keyword,
-            @Param("status") ProductStatus status
+    //카테고리 안에서 이름으로 찾은 첫 상품 (Product 는 category 연관 없이 categoryId 컬럼만 가진다)
+    Optional<Product> findFirstByCategoryIdAndNameContainingAndStatus(
+            Long categoryId,
+            String keyword,
+            ProductStatus status
     );
 }
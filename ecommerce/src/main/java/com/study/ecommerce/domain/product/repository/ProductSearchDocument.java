@@ -0,0 +1,5 @@
+package com.study.ecommerce.domain.product.repository;
+
+//검색 색인용 상품 텍스트
+public record ProductSearchDocument(Long id, String name, String description) {
+}
@@ -0,0 +1,7 @@
+package com.study.ecommerce.domain.product.repository;
+
+import com.study.ecommerce.domain.product.entity.Product.ProductStatus;
+
+//재고 일괄 원복 시 카테고리 상품 수 반영용 상품 상태
+public record ProductStatusRow(Long id, ProductStatus status, Long categoryId) {
+}
@@ -1,17 +1,23 @@
 package com.study.ecommerce.domain.product.service;
 
-import com.study.ecommerce.domain.category.entity.Category;
-import com.study.ecommerce.domain.category.repository.CategoryRepository;
+import com.study.ecommerce.domain.category.service.CategoryNameDictionary;
 import com.study.ecommerce.domain.payment.entity.Payment;
+import com.study.ecommerce.domain.product.dto.req.ProductField;
+import com.study.ecommerce.domain.product.dto.req.ProductSearchCondition;
+import com.study.ecommerce.domain.product.dto.resp.ProductCursorResponse;
 import com.study.ecommerce.domain.product.dto.resp.ProductResponse;
+import com.study.ecommerce.domain.product.dto.resp.ProductSummaryDto;
+import com.study.ecommerce.domain.product.dto.resp.ProductView;
 import com.study.ecommerce.domain.product.entity.Product;
 import com.study.ecommerce.domain.product.entity.Product.ProductStatus.*;
+import com.study.ecommerce.domain.product.repository.ProductListRow;
 import com.study.ecommerce.domain.product.repository.ProductRepository;
 import com.study.ecommerce.global.error.exception.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,8 +31,13 @@ import static com.study.ecommerce.domain.product.entity.Product.ProductStatus.AC
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class CustomerProductService {
+    private static final String DEFAULT_CATEGORY_NAME = "분류 없음";
+
     private final ProductRepository productRepository;
-    private final CategoryRepository categoryRepository;
+    private final CategoryNameDictionary categoryNameDictionary;
+    private final ProductKeywordSearch productKeywordSearch;
+    private final ProductCountCache productCountCache;
+    private final ProductDetailCache productDetailCache;
 
     /**
      * 카테고리별 판매중인 상품을 전체 조회
@@ -34,177 +45,119 @@ public class CustomerProductService {
      * param Long categoryId
      */
 
-    public List<ProductResponse> getActiveProductByCategory(Long categoryId){
-        //카테고리의 존재 유무
-        Category category = categoryRepository.findById(categoryId)
-                .orElseThrow(() -> new EntityNotFoundException("존재하는 카테고리 없음"));
+    public List<ProductSummaryDto> getActiveProductByCategory(Long categoryId){
+        //카테고리의 존재 유무 (카테고리 이름 사전)
+        if (!categoryNameDictionary.contains(categoryId)) {
+            throw new EntityNotFoundException("존재하는 카테고리 없음");
+        }
 
         //해당 카테고리의 판매중인 상품 찾기
-        List<Product>products = productRepository.findByCategoryIdAndStatus(categoryId, ACTIVE);
+        List<ProductListRow> products = productRepository.findListRowsByCategoryIdAndStatus(categoryId, ACTIVE);
         return products.stream()
-                .map(product -> new ProductResponse(
-                        product.getId(),
-                        product.getName(),
-                        product.getDescription(),
-                        product.getPrice(),
-                        product.getStockQuantity(),
-                        product.getStatus(),
-                        category.getName()
-                )).toList();
+                .map(this::toSummary)
+                .toList();
     }
 
     /**
      * 페이지 모든 판매중인 상품 조회  -> pageable
-     * Page<ProductResponse> getAllActiveProducts
+     * Page<ProductSummaryDto> getAllActiveProducts
      */
-    public Page<ProductResponse> getAllActiveProducts(Pageable pageable){
-        //페이지에  판맨중인 물건 찾기
-        Page<Product> products = productRepository.findByStatus(ACTIVE, pageable);
-
-        //물건이 비워 있으면 카테고리는 분류 없음 나머지는 물건의 기본 정보 가져오기
-        if (products.isEmpty()){ //product를 empty를 하면
-            return products.map(product -> new ProductResponse(
-                    product.getId(),
-                    product.getName(),
-                    product.getDescription(),
-                    product.getPrice(),
-                    product.getStockQuantity(),
-                    product.getStatus(),
-                    "분류 없음"
-            ));
-        }
+    public Page<ProductSummaryDto> getAllActiveProducts(Pageable pageable){
+        //페이지에  판맨중인 물건 찾기 (목록에 필요한 컬럼만)
+        Page<ProductListRow> products = productRepository.findListRowsByStatus(ACTIVE, pageable);
 
-        //카테고리 정보 조회 효율적으로 조회를 하기 위해서 -맵 생성
-        List<Long> categoryIds = products.getContent().stream()
-                .map(Product::getCategoryId)
-                .filter(Objects::nonNull)
-                .distinct()
-                .toList();
+        //카테고리 이름은 공용 사전에서 찾는다 (카테고리 쿼리 없음)
+        return products.map(this::toSummary);
+    }
 
-        Map<Long,String> categoryMap = new HashMap<>();
-        if (!categoryMap.isEmpty()){
-            List<Category>categories = categoryRepository.findAllById(categoryIds);
-            categories.forEach(category ->
-                    categoryMap.put(category.getId(), category.getName()));
+    /**
+     * 판매중인 상품 전체 조회 - 커서(keyset) 방식
+     * findByStatus(pageable) 의 OFFSET + COUNT 대신 (정렬 컬럼, id) 커서로 다음 페이지를 찾는다
+     * @param includeTotal true 면 캐시된 근사 전체 건수를 함께 반환
+     */
+    public ProductCursorResponse getAllActiveProducts(Sort sort, String cursor, int size, boolean includeTotal){
+        if (size < 1 || size > 100) {
+            throw new IllegalArgumentException("조회 개수는 1 ~ 100 사이여야 합니다.");
         }
-
-        Page<ProductResponse> result = products.map(product ->{
-            String categoryName = "분류 없음";
-            if(product.getCategoryId() != null){
-                categoryName = categoryMap.getOrDefault(product.getCategoryId(), "분류 없음");
-            }
-
-            return new ProductResponse(
-                    product.getId(),
-                    product.getName(),
-                    product.getDescription(),
-                    product.getPrice(),
-                    product.getStockQuantity(),
-                    product.getStatus(),
-                    categoryName
-            );
-        });
-        return result;
+        ProductSearchCondition condition = new ProductSearchCondition(null, null, null, null, null, null);
+        ProductCursorResponse response = productRepository.searchProductsByCursor(condition, sort, cursor, size);
+        return includeTotal ? response.withApproximateTotal(productCountCache.approximateTotal(condition)) : response;
     }
 
     /**
      * 판매중인 상품 상세조회  -> id, ProductResponse 반환
      */
     public ProductResponse getActiveProduct(Long id){
-        //판매중인 물건 찾기
-        Product product = productRepository.findByIdAndStatus(id, ACTIVE)
-                .orElseThrow(() -> new EntityNotFoundException("판매중인 상품을 찾을 수 없습니다."));
+        //판매중인 물건 찾기 (상품 상세 캐시)
+        ProductResponse product = productDetailCache.get(id);
+        if (product == null || product.status() != ACTIVE) {
+            throw new EntityNotFoundException("판매중인 상품을 찾을 수 없습니다.");
+        }
 
         //상품의 카테고리 찾기
-        String categoryName = "분류 없음";
-        if (product.getCategoryId() != null) {
-            Category category = categoryRepository.findById(product.getCategoryId())
-                    .orElse(null);
-
-            if (category != null) {
-                categoryName = category.getName();
-            }
-        }
+        String categoryName = product.categoryName() != null ? product.categoryName() : DEFAULT_CATEGORY_NAME;
 
         return new ProductResponse(
-                product.getId(),
-                product.getName(),
-                product.getDescription(),
-                product.getPrice(),
-                product.getStockQuantity(),
-                product.getStatus(),
+                product.id(),
+                product.name(),
+                product.description(),
+                product.price(),
+                product.stockQuantity(),
+                product.status(),
                 categoryName
         );
     }
 
+    //상세 캐시에서 꺼낸 응답 중 요청한 필드만 담는다
+    public ProductView getActiveProduct(Long id, Set<ProductField> fields){
+        return ProductView.of(getActiveProduct(id), fields);
+    }
+
     /**
      * 상품명으로 판매중인 상품을 검색
-     * Page<ProductResponse> param Pageable String keyword
+     * Page<ProductSummaryDto> param Pageable String keyword
      */
-    public Page<ProductResponse> getActiveProduct(Pageable pageable, String keyword){
+    public Page<ProductSummaryDto> getActiveProduct(Pageable pageable, String keyword){
 
         //키워드 글자에 대한 조건 검사
         if (keyword == null || keyword.isBlank() || keyword.trim().length() < 2) {
             throw new IllegalArgumentException("검색어는 두 글자 이상 입력해주세요.");
         }
 
+        //색인으로 찾을 수 있으면 판매중 후보를 메모리에서 거른 뒤 관련도 순 id 페이지만 읽는다
+        ProductKeywordSearch.Matches matches = productKeywordSearch.search(
+                new ProductSearchCondition(keyword.trim(), null, null, null, null, null));
+        if (matches != null) {
+            return productKeywordSearch.page(matches, pageable);
+        }
+
         // 판매중이며 상품명에 키워드가 포함된 상품 검색
-        Page<Product> products = productRepository.findByStatusAndNameLikeIgnoreCase(
+        Page<ProductListRow> products = productRepository.findListRowsByStatusAndNameContaining(
                 ACTIVE, keyword.trim(), pageable
         );
 
-        //물건이 비워 있으면 카테고리는 분류 없음 나머지는 물건의 기본 정보 가져오기
-        if (products.isEmpty()){
-            return products.map(product -> new ProductResponse(
-                    product.getId(),
-                    product.getName(),
-                    product.getDescription(),
-                    product.getPrice(),
-                    product.getStockQuantity(),
-                    product.getStatus(),
-                    "분류 없음"
-            ));
-        }
-
-        return products.map(product ->
-                new ProductResponse(
-                        product.getId(),
-                        product.getName(),
-                        product.getDescription(),
-                        product.getPrice(),
-                        product.getStockQuantity(),
-                        product.getStatus(),
-                        product.getCategoryId() != null ? product.getCategoryId().toString() : "분류 없음"
-                ));
+        return products.map(this::toSummary);
     }
 
     /**
      * 가격 범위로 판매중인 상품 검색
      * Long minPrice, Long maxPrice
      */
-    public List<ProductResponse> getPriceBetweenProduct(Long minPrice, Long maxPrice){
+    public List<ProductSummaryDto> getPriceBetweenProduct(Long minPrice, Long maxPrice){
         //가격에대한 조건 범위 설정
         if (minPrice < 0 || maxPrice > 1000000) {
             throw new IllegalArgumentException("가격을 다시 조정해주새요 ");
         }
 
         //가격 범위 에 맞는 물건 찾기
-        List<Product> product = productRepository.findPriceBetweenProduct(minPrice, maxPrice);
+        List<ProductListRow> product = productRepository.findListRowsByPriceBetween(minPrice, maxPrice, ACTIVE);
 
         if (product.isEmpty()) {
             throw new EntityNotFoundException("해당 가격 범위에 맞는 상품이 없습니다.");
         }
 
         return product.stream()
-                .map(products -> new ProductResponse(
-                        products.getId(),
-                        products.getName(),
-                        products.getDescription(),
-                        products.getPrice(),
-                        products.getStockQuantity(),
-                        products.getStatus(),
-                        products.getCategoryId() != null ? products.getCategoryId().toString() : "분류 없음"
-                        ))
+                .map(this::toSummary)
                 .collect(Collectors.toList());
     }
 
@@ -214,8 +167,9 @@ public class CustomerProductService {
      */
     public ProductResponse getCategoryProduct(Long categoryId, String keyword){
         //카테고리 전제 유무
-        Category category = categoryRepository.findById(categoryId)
-                .orElseThrow(() ->  new EntityNotFoundException("존재 하지 않은 카테고리 입니다"));
+        if (!categoryNameDictionary.contains(categoryId)) {
+            throw new EntityNotFoundException("존재 하지 않은 카테고리 입니다");
+        }
 
         //키워드 글자에 대한 조건 검사 + 추가로 정규식을 입력
         if (keyword == null || keyword.isBlank() ){
@@ -226,9 +180,29 @@ public class CustomerProductService {
         }
 
         Product product = productRepository
-                .findByCategoryAndNameContainingAndStatus(categoryId, keyword.trim(), ACTIVE)
+                .findFirstByCategoryIdAndNameContainingAndStatus(categoryId, keyword.trim(), ACTIVE)
                 .orElseThrow(() -> new EntityNotFoundException("해당 조건에 맞는 상품이 없습니다."));
 
+        return toResponse(product);
+    }
+
+    //목록 응답 (description 없음)
+    private ProductSummaryDto toSummary(ProductListRow row) {
+        return new ProductSummaryDto(
+                row.id(),
+                row.name(),
+                row.price(),
+                row.stockQuantity(),
+                categoryNameDictionary.nameOf(row.categoryId(), DEFAULT_CATEGORY_NAME),
+                row.status()
+        );
+    }
+
+    /**
+     *  extract method
+     *  Product -> ProductResponse 변환 공통 메소드 (카테고리 이름은 공용 사전에서 조회)
+     */
+    private ProductResponse toResponse(Product product) {
         return new ProductResponse(
                 product.getId(),
                 product.getName(),
@@ -236,15 +210,7 @@ public class CustomerProductService {
                 product.getPrice(),
                 product.getStockQuantity(),
                 product.getStatus(),
-                category.getName()
+                categoryNameDictionary.nameOf(product.getCategoryId(), DEFAULT_CATEGORY_NAME)
         );
     }
-
-    /**
-     *  extract method
-     *  Product Page를 ProductResponse의 Page 변환하는 공통 메소드 구현
-     *  Page<Product> -> Page<ProductResponse>
-     */
-
-
 }
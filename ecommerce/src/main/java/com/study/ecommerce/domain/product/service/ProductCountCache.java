@@ -0,0 +1,63 @@
+package com.study.ecommerce.domain.product.service;
+
+import com.study.ecommerce.domain.product.dto.req.ProductSearchCondition;
+import com.study.ecommerce.domain.product.repository.ProductRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 검색 조건별 전체 건수 캐시 (커서 조회의 근사 전체 건수)
+ * 같은 조건은 ttl 동안 COUNT 를 다시 실행하지 않는다 -> 그 사이 상품 변경은 반영되지 않은 근사치
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductCountCache {
+    private final ProductRepository productRepository;
+    private final ProductKeywordSearch productKeywordSearch;
+
+    @Value("${product.count-cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    @Value("${product.count-cache.size:1000}")
+    private int cacheSize;
+
+    private Map<ProductSearchCondition, CachedCount> cache;
+
+    @PostConstruct
+    void initCache() {
+        //접근 순서 LinkedHashMap -> 가장 오래 안 쓴 조건부터 제거 (크기 제한)
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ProductSearchCondition, CachedCount> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    public long approximateTotal(ProductSearchCondition condition) {
+        long now = System.currentTimeMillis();
+        synchronized (cache) {
+            CachedCount cached = cache.get(condition);
+            if (cached != null && cached.expiresAtMs() > now) {
+                return cached.count();
+            }
+        }
+
+        //COUNT 는 락 밖에서 실행 (동시에 놓친 요청은 각자 한 번씩 실행될 수 있다)
+        //색인 키워드는 메모리에서 거른 건수 (DB COUNT 없음)
+        ProductKeywordSearch.Matches matches = productKeywordSearch.search(condition);
+        long count = matches != null ? matches.total() : productRepository.countProducts(condition);
+        synchronized (cache) {
+            cache.put(condition, new CachedCount(count, now + ttlSeconds * 1000));
+        }
+        return count;
+    }
+
+    private record CachedCount(long count, long expiresAtMs) {
+    }
+}
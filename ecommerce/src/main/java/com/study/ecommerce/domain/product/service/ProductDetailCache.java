@@ -0,0 +1,135 @@
+package com.study.ecommerce.domain.product.service;
+
+import com.study.ecommerce.domain.category.service.CategoryNameDictionary;
+import com.study.ecommerce.domain.product.dto.resp.ProductResponse;
+import com.study.ecommerce.domain.product.entity.Product;
+import com.study.ecommerce.domain.product.event.ProductChangedEvent;
+import com.study.ecommerce.domain.product.repository.ProductRepository;
+import com.study.ecommerce.global.common.WTinyLfuCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 상품 상세(ProductResponse) read-through 캐시 (W-TinyLFU, 크기 제한)
+ * 카테고리 이름은 캐시하지 않고 조회할 때 공용 사전에서 붙인다 (카테고리 이름 변경이 바로 반영된다)
+ * 반환 값의 categoryName 은 카테고리가 없으면 null -> 호출하는 쪽에서 표시 문구를 정한다
+ * 상품 수정/삭제/재고 변경은 커밋 후 해당 상품만 무효화한다
+ * 조회 중(커밋 전 값을 읽은 뒤) 무효화가 끼어들면 읽은 값을 캐시에 넣지 않는다 (키 해시별 무효화 번호 비교)
+ * 메트릭: product.detail-cache.requests{result=hit|miss}, product.detail-cache.evictions, product.detail-cache.size
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductDetailCache {
+    private static final int STRIPES = 64;
+
+    private final ProductRepository productRepository;
+    private final CategoryNameDictionary categoryNameDictionary;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${product.detail-cache.size:10000}")
+    private int cacheSize;
+
+    private WTinyLfuCache<Long, CachedProduct> cache;
+    private final AtomicLongArray invalidations = new AtomicLongArray(STRIPES);
+
+    private Counter hitCounter;
+    private Counter missCounter;
+
+    @PostConstruct
+    void init() {
+        this.cache = new WTinyLfuCache<>(cacheSize);
+        this.hitCounter = Counter.builder("product.detail-cache.requests")
+                .description("상품 상세 캐시 조회 수")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("product.detail-cache.requests")
+                .description("상품 상세 캐시 조회 수")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        FunctionCounter.builder("product.detail-cache.evictions", cache, WTinyLfuCache::evictionCount)
+                .description("크기 제한으로 밀려난 상품 상세 수")
+                .register(meterRegistry);
+        Gauge.builder("product.detail-cache.size", cache, WTinyLfuCache::size)
+                .description("캐시된 상품 상세 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return 상품이 없으면 null (없는 상품은 캐시하지 않는다)
+     */
+    public ProductResponse get(Long productId) {
+        CachedProduct cached = cache.get(productId);
+        if (cached != null) {
+            hitCounter.increment();
+            return withCategoryName(cached);
+        }
+        missCounter.increment();
+
+        long stamp = invalidations.get(stripe(productId));
+        CachedProduct loaded = load(productId);
+        if (loaded != null && invalidations.get(stripe(productId)) == stamp) {
+            cache.put(productId, loaded);
+        }
+        return loaded != null ? withCategoryName(loaded) : null;
+    }
+
+    //변경이 커밋된 뒤에만 무효화 -> 롤백된 변경은 캐시에 영향 없음
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        event.productIds().forEach(this::evict);
+    }
+
+    public void evict(Long productId) {
+        invalidations.incrementAndGet(stripe(productId));
+        cache.invalidate(productId);
+    }
+
+    private CachedProduct load(Long productId) {
+        Product product = productRepository.findById(productId).orElse(null);
+        if (product == null) {
+            return null;
+        }
+
+        ProductResponse response = new ProductResponse(
+                product.getId(),
+                product.getName(),
+                product.getDescription(),
+                product.getPrice(),
+                product.getStockQuantity(),
+                product.getStatus(),
+                null
+        );
+        return new CachedProduct(response, product.getCategoryId());
+    }
+
+    private ProductResponse withCategoryName(CachedProduct cached) {
+        ProductResponse product = cached.product();
+        return new ProductResponse(
+                product.id(),
+                product.name(),
+                product.description(),
+                product.price(),
+                product.stockQuantity(),
+                product.status(),
+                categoryNameDictionary.nameOf(cached.categoryId(), null)
+        );
+    }
+
+    private int stripe(Long productId) {
+        return (Long.hashCode(productId) & 0x7fffffff) % STRIPES;
+    }
+
+    //카테고리 이름을 뺀 상품 상세 + 카테고리 id
+    private record CachedProduct(ProductResponse product, Long categoryId) {
+    }
+}
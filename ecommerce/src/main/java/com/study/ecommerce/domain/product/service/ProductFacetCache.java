@@ -0,0 +1,53 @@
+package com.study.ecommerce.domain.product.service;
+
+import com.study.ecommerce.domain.product.dto.req.ProductFacet;
+import com.study.ecommerce.domain.product.dto.resp.ProductFacets;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 집계용 컬럼 스냅샷 보관 (volatile 참조 교체)
+ * 스냅샷은 주기적으로 다시 만들기 때문에 집계 수는 최대 refresh 주기만큼 늦을 수 있다 (검색 화면 표시용 근사치)
+ */
+@Component
+public class ProductFacetCache {
+    @Value("${product.facet.max-values:50}")
+    private int maxValues;
+
+    private volatile ProductFacetColumns columns;
+
+    //스냅샷을 교체할 때마다 증가 (색인 키워드 검색 결과가 스냅샷에 따라 달라지므로 검색 결과 캐시 세대에 포함)
+    private final AtomicLong version = new AtomicLong();
+
+    public boolean isReady() {
+        return columns != null;
+    }
+
+    public void replace(ProductFacetColumns columns) {
+        this.columns = columns;
+        version.incrementAndGet();
+    }
+
+    public long version() {
+        return version.get();
+    }
+
+    //스냅샷이 아직 없으면 null
+    public ProductFacetColumns columns() {
+        return columns;
+    }
+
+    /**
+     * 스냅샷이 아직 없으면 빈 집계
+     */
+    public ProductFacets count(ProductFacetColumns.Filter filter, Set<ProductFacet> facets) {
+        ProductFacetColumns current = columns;
+        if (current == null || facets == null || facets.isEmpty()) {
+            return ProductFacets.empty();
+        }
+        return current.count(filter, facets, maxValues);
+    }
+}
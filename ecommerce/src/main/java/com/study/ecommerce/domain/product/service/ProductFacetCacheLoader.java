@@ -0,0 +1,62 @@
+package com.study.ecommerce.domain.product.service;
+
+import com.study.ecommerce.domain.product.entity.Product.ProductStatus;
+import com.study.ecommerce.domain.product.repository.ProductFacetRow;
+import com.study.ecommerce.domain.product.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 집계용 컬럼 스냅샷 재구성 (기동 시 + 주기적으로)
+ * id 커서로 (id, categoryId, price, sellerId, status, createdAt) 만 배치 조회해서 새 스냅샷을 만든 뒤 교체한다
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductFacetCacheLoader {
+    private final ProductRepository productRepository;
+    private final ProductFacetCache productFacetCache;
+
+    @Value("${product.facet.price-buckets:10000,30000,50000,100000,300000}")
+    private long[] priceBoundaries;
+
+    @Value("${product.facet.rebuild-batch-size:5000}")
+    private int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${product.facet.refresh-interval-ms:60000}",
+            initialDelayString = "${product.facet.refresh-interval-ms:60000}")
+    public void refresh() {
+        long startedAt = System.currentTimeMillis();
+        ProductFacetColumns.Builder builder = ProductFacetColumns.builder(priceBoundaries);
+        try {
+            Long cursorId = 0L;
+            List<ProductFacetRow> rows;
+            do {
+                rows = productRepository.findFacetRowsAfter(
+                        cursorId, ProductStatus.DELETED, PageRequest.of(0, batchSize));
+                for (ProductFacetRow row : rows) {
+                    builder.add(row);
+                    cursorId = row.id();
+                }
+            } while (rows.size() == batchSize);
+        } catch (RuntimeException e) {
+            //이전 스냅샷을 그대로 사용
+            log.error("상품 집계 스냅샷 재구성 실패", e);
+            return;
+        }
+
+        ProductFacetColumns columns = builder.build();
+        productFacetCache.replace(columns);
+        log.debug("상품 집계 스냅샷 재구성 rows={} elapsedMs={}",
+                columns.size(), System.currentTimeMillis() - startedAt);
+    }
+}
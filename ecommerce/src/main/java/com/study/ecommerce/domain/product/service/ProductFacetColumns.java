@@ -0,0 +1,333 @@
+package com.study.ecommerce.domain.product.service;
+
+import com.study.ecommerce.domain.product.dto.req.ProductFacet;
+import com.study.ecommerce.domain.product.dto.resp.ProductFacets;
+import com.study.ecommerce.domain.product.dto.resp.ProductFacets.FacetCount;
+import com.study.ecommerce.domain.product.dto.resp.ProductFacets.PriceRangeCount;
+import com.study.ecommerce.domain.product.entity.Product.ProductStatus;
+import com.study.ecommerce.domain.product.repository.ProductFacetRow;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 집계용 상품 컬럼 스냅샷 (불변)
+ * 행마다 객체를 두지 않고 컬럼별 primitive 배열로 보관한다 (id 오름차순)
+ * 카테고리/판매자는 사전(dictionary) 번호로, 가격은 구간 번호로 미리 바꿔 두어 집계는 int 배열 증가만 한다
+ * 키워드 검색도 같은 컬럼으로 색인 후보 전체를 걸러서 정렬한다 (DB 에는 페이지에 해당하는 id 만 묻는다)
+ */
+public final class ProductFacetColumns {
+    private static final int NONE = -1;
+
+    private final long[] ids;
+    private final int[] categoryOrdinals;
+    private final long[] prices;
+    private final int[] priceBuckets;
+    private final int[] sellerOrdinals;
+    private final boolean[] active;
+    private final long[] createdAt;
+    private final int size;
+
+    //사전 번호 -> 실제 id
+    private final long[] categoryValues;
+    private final long[] sellerValues;
+    private final Map<Long, Integer> sellerOrdinalByValue;
+
+    //가격 구간 경계 (오름차순)
+    private final long[] priceBoundaries;
+
+    private ProductFacetColumns(Builder builder) {
+        this.size = builder.size;
+        this.ids = Arrays.copyOf(builder.ids, size);
+        this.categoryOrdinals = Arrays.copyOf(builder.categoryOrdinals, size);
+        this.prices = Arrays.copyOf(builder.prices, size);
+        this.priceBuckets = Arrays.copyOf(builder.priceBuckets, size);
+        this.sellerOrdinals = Arrays.copyOf(builder.sellerOrdinals, size);
+        this.active = Arrays.copyOf(builder.active, size);
+        this.createdAt = Arrays.copyOf(builder.createdAt, size);
+        this.categoryValues = builder.categoryValues.stream().mapToLong(Long::longValue).toArray();
+        this.sellerValues = builder.sellerValues.stream().mapToLong(Long::longValue).toArray();
+        this.sellerOrdinalByValue = Map.copyOf(builder.sellerOrdinalByValue);
+        this.priceBoundaries = builder.priceBoundaries;
+    }
+
+    public static Builder builder(long[] priceBoundaries) {
+        return new Builder(priceBoundaries);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 조건에 맞는 판매중 상품을 한 번만 훑어서 요청한 집계를 모두 계산
+     * 각 집계는 자기 자신의 조건만 빼고 센다 (선택한 카테고리 외 다른 카테고리 수도 보여주기 위함)
+     * @param maxValues 카테고리/판매자 집계에서 상위 몇 개까지 돌려줄지
+     */
+    public ProductFacets count(Filter filter, Set<ProductFacet> facets, int maxValues) {
+        boolean countCategory = facets.contains(ProductFacet.CATEGORY);
+        boolean countPrice = facets.contains(ProductFacet.PRICE);
+        boolean countSeller = facets.contains(ProductFacet.SELLER);
+
+        int[] categoryCounts = new int[categoryValues.length];
+        int[] priceCounts = new int[priceBoundaries.length + 1];
+        int[] sellerCounts = new int[sellerValues.length];
+
+        boolean[] allowedCategories = allowedCategories(filter.categoryIds());
+        int sellerOrdinal = NONE;
+        if (filter.sellerId() != null) {
+            sellerOrdinal = sellerOrdinalByValue.getOrDefault(filter.sellerId(), Integer.MIN_VALUE);
+        }
+        long minPrice = filter.minPrice() != null ? filter.minPrice() : Long.MIN_VALUE;
+        long maxPrice = filter.maxPrice() != null ? filter.maxPrice() : Long.MAX_VALUE;
+
+        int[] rows = candidateRows(filter.candidateIds());
+        int rowCount = rows != null ? rows.length : size;
+        for (int i = 0; i < rowCount; i++) {
+            int row = rows != null ? rows[i] : i;
+            if (!active[row]) {
+                continue;
+            }
+            int category = categoryOrdinals[row];
+            int seller = sellerOrdinals[row];
+            boolean categoryOk = allowedCategories == null || (category != NONE && allowedCategories[category]);
+            boolean priceOk = prices[row] >= minPrice && prices[row] <= maxPrice;
+            boolean sellerOk = filter.sellerId() == null || seller == sellerOrdinal;
+
+            if (countCategory && priceOk && sellerOk && category != NONE) {
+                categoryCounts[category]++;
+            }
+            if (countPrice && categoryOk && sellerOk) {
+                priceCounts[priceBuckets[row]]++;
+            }
+            if (countSeller && categoryOk && priceOk && seller != NONE) {
+                sellerCounts[seller]++;
+            }
+        }
+
+        return new ProductFacets(
+                countCategory ? top(categoryCounts, categoryValues, maxValues) : List.of(),
+                countPrice ? priceRanges(priceCounts) : List.of(),
+                countSeller ? top(sellerCounts, sellerValues, maxValues) : List.of()
+        );
+    }
+
+    /**
+     * 키워드 후보 중 조건에 맞는 판매중 상품 (후보 순서 유지)
+     * 스냅샷에 없는 후보(스냅샷 이후 추가된 상품)는 호출하는 쪽이 DB 에서 읽은 extraRows 로 판단한다
+     * @param extraRows 스냅샷에 없는 후보의 컬럼 (missingIds 로 찾은 id)
+     */
+    public List<Match> match(Filter filter, Map<Long, ProductFacetRow> extraRows) {
+        boolean[] allowedCategories = allowedCategories(filter.categoryIds());
+        int sellerOrdinal = NONE;
+        if (filter.sellerId() != null) {
+            sellerOrdinal = sellerOrdinalByValue.getOrDefault(filter.sellerId(), Integer.MIN_VALUE);
+        }
+        long minPrice = filter.minPrice() != null ? filter.minPrice() : Long.MIN_VALUE;
+        long maxPrice = filter.maxPrice() != null ? filter.maxPrice() : Long.MAX_VALUE;
+
+        List<Match> matches = new ArrayList<>();
+        for (long id : filter.candidateIds()) {
+            int row = Arrays.binarySearch(ids, 0, size, id);
+            if (row < 0) {
+                ProductFacetRow extra = extraRows.get(id);
+                if (extra != null && matches(extra, filter, minPrice, maxPrice)) {
+                    matches.add(new Match(id, priceOf(extra), epochMicros(extra.createdAt())));
+                }
+                continue;
+            }
+            int category = categoryOrdinals[row];
+            if (active[row]
+                    && (allowedCategories == null || (category != NONE && allowedCategories[category]))
+                    && prices[row] >= minPrice && prices[row] <= maxPrice
+                    && (filter.sellerId() == null || sellerOrdinals[row] == sellerOrdinal)) {
+                matches.add(new Match(id, prices[row], createdAt[row]));
+            }
+        }
+        return matches;
+    }
+
+    //스냅샷에 없는 후보 id (DB 에서 컬럼을 따로 읽어야 하는 상품)
+    public List<Long> missingIds(List<Long> candidateIds) {
+        List<Long> missing = new ArrayList<>();
+        for (long id : candidateIds) {
+            if (Arrays.binarySearch(ids, 0, size, id) < 0) {
+                missing.add(id);
+            }
+        }
+        return missing;
+    }
+
+    //정렬/커서 비교용 생성 시각 (마이크로초, DB TIMESTAMP 정밀도)
+    public static long epochMicros(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return 0L;
+        }
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + dateTime.getNano() / 1_000;
+    }
+
+    public static LocalDateTime fromEpochMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(
+                Math.floorDiv(micros, 1_000_000L), (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    private static boolean matches(ProductFacetRow row, Filter filter, long minPrice, long maxPrice) {
+        long price = priceOf(row);
+        return row.status() == ProductStatus.ACTIVE
+                && (filter.categoryIds() == null
+                    || (row.categoryId() != null && filter.categoryIds().contains(row.categoryId())))
+                && price >= minPrice && price <= maxPrice
+                && (filter.sellerId() == null || filter.sellerId().equals(row.sellerId()));
+    }
+
+    private static long priceOf(ProductFacetRow row) {
+        return row.price() != null ? row.price() : 0L;
+    }
+
+    //허용 카테고리 id -> 사전 번호 기준 boolean 배열 (null 이면 조건 없음)
+    private boolean[] allowedCategories(Collection<Long> categoryIds) {
+        if (categoryIds == null) {
+            return null;
+        }
+        boolean[] allowed = new boolean[categoryValues.length];
+        for (int ordinal = 0; ordinal < categoryValues.length; ordinal++) {
+            allowed[ordinal] = categoryIds.contains(categoryValues[ordinal]);
+        }
+        return allowed;
+    }
+
+    //키워드 후보 id -> 행 번호 (id 오름차순 컬럼에서 이분 탐색, 스냅샷 이후 생긴 상품은 빠진다)
+    private int[] candidateRows(List<Long> candidateIds) {
+        if (candidateIds == null) {
+            return null;
+        }
+        int[] rows = new int[candidateIds.size()];
+        int count = 0;
+        for (long id : candidateIds) {
+            int row = Arrays.binarySearch(ids, 0, size, id);
+            if (row >= 0) {
+                rows[count++] = row;
+            }
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    private List<FacetCount> top(int[] counts, long[] values, int maxValues) {
+        List<FacetCount> result = new ArrayList<>();
+        for (int ordinal = 0; ordinal < counts.length; ordinal++) {
+            if (counts[ordinal] > 0) {
+                result.add(new FacetCount(values[ordinal], counts[ordinal]));
+            }
+        }
+        result.sort((a, b) -> Long.compare(b.count(), a.count()));
+        return result.size() > maxValues ? List.copyOf(result.subList(0, maxValues)) : result;
+    }
+
+    private List<PriceRangeCount> priceRanges(int[] counts) {
+        List<PriceRangeCount> result = new ArrayList<>(counts.length);
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            Long min = bucket == 0 ? 0L : priceBoundaries[bucket - 1];
+            Long max = bucket < priceBoundaries.length ? priceBoundaries[bucket] : null;
+            result.add(new PriceRangeCount(min, max, counts[bucket]));
+        }
+        return result;
+    }
+
+    /**
+     * 키워드 검색 결과 한 건 (정렬/커서에 필요한 컬럼만)
+     * @param createdAt 생성 시각 (epochMicros)
+     */
+    public record Match(long id, long price, long createdAt) {
+    }
+
+    /**
+     * 집계 조건
+     * @param candidateIds 키워드 검색 후보 id (null 이면 전체)
+     * @param categoryIds  허용 카테고리 id (null 이면 전체)
+     */
+    public record Filter(
+            List<Long> candidateIds,
+            Set<Long> categoryIds,
+            Long minPrice,
+            Long maxPrice,
+            Long sellerId
+    ) {
+    }
+
+    /**
+     * id 오름차순으로 행을 추가하는 빌더 (재구성 스레드 전용)
+     */
+    public static final class Builder {
+        private final long[] priceBoundaries;
+
+        private long[] ids = new long[1024];
+        private int[] categoryOrdinals = new int[1024];
+        private long[] prices = new long[1024];
+        private int[] priceBuckets = new int[1024];
+        private int[] sellerOrdinals = new int[1024];
+        private boolean[] active = new boolean[1024];
+        private long[] createdAt = new long[1024];
+        private int size;
+
+        private final List<Long> categoryValues = new ArrayList<>();
+        private final Map<Long, Integer> categoryOrdinalByValue = new HashMap<>();
+        private final List<Long> sellerValues = new ArrayList<>();
+        private final Map<Long, Integer> sellerOrdinalByValue = new HashMap<>();
+
+        private Builder(long[] priceBoundaries) {
+            long[] sorted = priceBoundaries.clone();
+            Arrays.sort(sorted);
+            this.priceBoundaries = sorted;
+        }
+
+        public Builder add(ProductFacetRow row) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                categoryOrdinals = Arrays.copyOf(categoryOrdinals, capacity);
+                prices = Arrays.copyOf(prices, capacity);
+                priceBuckets = Arrays.copyOf(priceBuckets, capacity);
+                sellerOrdinals = Arrays.copyOf(sellerOrdinals, capacity);
+                active = Arrays.copyOf(active, capacity);
+                createdAt = Arrays.copyOf(createdAt, capacity);
+            }
+            long price = priceOf(row);
+            ids[size] = row.id();
+            categoryOrdinals[size] = ordinal(row.categoryId(), categoryValues, categoryOrdinalByValue);
+            prices[size] = price;
+            priceBuckets[size] = priceBucket(price);
+            sellerOrdinals[size] = ordinal(row.sellerId(), sellerValues, sellerOrdinalByValue);
+            active[size] = row.status() == ProductStatus.ACTIVE;
+            createdAt[size] = epochMicros(row.createdAt());
+            size++;
+            return this;
+        }
+
+        public ProductFacetColumns build() {
+            return new ProductFacetColumns(this);
+        }
+
+        //경계 b[i-1] <= price < b[i] 인 구간 번호
+        private int priceBucket(long price) {
+            int pos = Arrays.binarySearch(priceBoundaries, price);
+            return pos >= 0 ? pos + 1 : -pos - 1;
+        }
+
+        private static int ordinal(Long value, List<Long> values, Map<Long, Integer> ordinals) {
+            if (value == null) {
+                return NONE;
+            }
+            return ordinals.computeIfAbsent(value, v -> {
+                values.add(v);
+                return values.size() - 1;
+            });
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.study.ecommerce.domain.product.service;
+
+import com.study.ecommerce.domain.product.dto.req.ProductCursor;
+import com.study.ecommerce.domain.product.dto.req.ProductField;
+import com.study.ecommerce.domain.product.dto.req.ProductSearchCondition;
+import com.study.ecommerce.domain.product.dto.resp.ProductCursorResponse;
+import com.study.ecommerce.domain.product.dto.resp.ProductSummaryDto;
+import com.study.ecommerce.domain.product.dto.resp.ProductView;
+import com.study.ecommerce.domain.product.repository.ProductFacetRow;
+import com.study.ecommerce.domain.product.repository.ProductRepository;
+import com.study.ecommerce.domain.product.service.ProductFacetColumns.Match;
+import com.study.ecommerce.global.error.ErrorCode;
+import com.study.ecommerce.global.error.exception.BusinessException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 검색 색인 키워드 검색
+ * 색인이 찾은 후보 전체에 판매중/가격/카테고리/판매자 조건을 집계 스냅샷 컬럼으로 메모리에서 걸고 정렬한 뒤
+ * 페이지에 해당하는 id 만 DB 에서 읽는다 (일치 상품이 아무리 많아도 LIKE 전체 조회나 거대한 IN 목록이 없다)
+ * 페이지를 읽을 때 검색 조건을 다시 걸기 때문에 스냅샷 이후 조건에서 벗어난 상품은 응답에 나가지 않는다
+ * (그 페이지가 짧아질 수 있고, 전체 건수는 스냅샷 refresh 주기만큼 늦을 수 있는 근사치)
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductKeywordSearch {
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductFacetCache productFacetCache;
+    private final ProductRepository productRepository;
+
+    /**
+     * @return 조건에 맞는 상품 (관련도 순), 색인/스냅샷이 준비되지 않았거나 색인으로 답할 수 없는 검색어면 null -> DB LIKE 조회
+     */
+    public Matches search(ProductSearchCondition condition) {
+        List<Long> candidateIds = productSearchIndex.search(condition.keyword());
+        ProductFacetColumns columns = productFacetCache.columns();
+        if (candidateIds == null || columns == null) {
+            return null;
+        }
+
+        ProductFacetColumns.Filter filter = new ProductFacetColumns.Filter(
+                candidateIds,
+                productRepository.findCategoryIds(condition.categoryId(), condition.includeDescendants()),
+                condition.minPrice(),
+                condition.maxPrice(),
+                condition.sellerId()
+        );
+
+        //스냅샷 이후 추가된 상품은 컬럼만 따로 읽는다 (최근 refresh 주기 안의 상품이라 적다)
+        Map<Long, ProductFacetRow> extraRows = new HashMap<>();
+        List<Long> missingIds = columns.missingIds(candidateIds);
+        if (!missingIds.isEmpty()) {
+            for (ProductFacetRow row : productRepository.findFacetRowsByIds(missingIds)) {
+                extraRows.put(row.id(), row);
+            }
+        }
+        return new Matches(condition, filter, columns.match(filter, extraRows));
+    }
+
+    //정렬 지정이 없으면 관련도 순, 있으면 getOrderSpecifier 와 같은 규칙 (price, createdAt, 그 외는 id 내림차순)
+    public Page<ProductSummaryDto> page(Matches matches, Pageable pageable) {
+        List<Long> pageIds = pageIds(matches, pageable);
+        return new PageImpl<>(productRepository.findSummariesByIds(matches.condition(), pageIds),
+                pageable, matches.total());
+    }
+
+    public Page<ProductView> page(Matches matches, Pageable pageable, Set<ProductField> fields) {
+        List<Long> pageIds = pageIds(matches, pageable);
+        return new PageImpl<>(productRepository.findFieldsByIds(matches.condition(), pageIds, fields),
+                pageable, matches.total());
+    }
+
+    /**
+     * 커서(keyset) 페이지 -> 정렬한 결과에서 커서 다음 위치를 이분 탐색으로 찾는다
+     * 정렬/커서 규칙은 ProductQueryRepository.searchProductsByCursor 와 같다 (관련도 순이 아님)
+     */
+    public ProductCursorResponse cursorPage(Matches matches, Sort sort, String cursor, int size) {
+        ProductCursor sortKey = ProductCursor.sortKeyOf(sort);
+        ProductCursor last = sortKey.resume(cursor);
+        Comparator<Match> order = comparator(sortKey);
+        List<Match> sorted = sorted(matches.rows(), order);
+
+        int from = 0;
+        if (last != null) {
+            int pos = Collections.binarySearch(sorted, toMatch(sortKey, last), order);
+            from = pos >= 0 ? pos + 1 : -pos - 1;
+        }
+        int to = Math.min(from + size, sorted.size());
+        boolean hasNext = to < sorted.size();
+        List<Match> page = sorted.subList(from, to);
+
+        String nextCursor = null;
+        if (hasNext) {
+            Match lastMatch = page.get(page.size() - 1);
+            String value = switch (sortKey.sortProperty()) {
+                case "price" -> String.valueOf(lastMatch.price());
+                case "createdAt" -> String.valueOf(ProductFacetColumns.fromEpochMicros(lastMatch.createdAt()));
+                default -> null;
+            };
+            nextCursor = new ProductCursor(sortKey.sortProperty(), sortKey.ascending(), value, lastMatch.id()).encode();
+        }
+
+        List<ProductSummaryDto> products = productRepository.findSummariesByIds(matches.condition(), ids(page));
+        return new ProductCursorResponse(products, nextCursor, hasNext, null);
+    }
+
+    private List<Long> pageIds(Matches matches, Pageable pageable) {
+        List<Match> rows = pageable.getSort().isSorted()
+                ? sorted(matches.rows(), comparator(ProductCursor.sortKeyOf(pageable.getSort())))
+                : matches.rows();
+        int from = (int) Math.min(pageable.getOffset(), rows.size());
+        int to = Math.min(from + pageable.getPageSize(), rows.size());
+        return ids(rows.subList(from, to));
+    }
+
+    //같은 값은 id 로 구분 (내림차순이면 id 도 내림차순, 커서 SQL 의 keysetOrder 와 같음)
+    private Comparator<Match> comparator(ProductCursor sortKey) {
+        Comparator<Match> order = switch (sortKey.sortProperty()) {
+            case "price" -> Comparator.comparingLong(Match::price).thenComparingLong(Match::id);
+            case "createdAt" -> Comparator.comparingLong(Match::createdAt).thenComparingLong(Match::id);
+            default -> Comparator.comparingLong(Match::id);
+        };
+        return sortKey.ascending() ? order : order.reversed();
+    }
+
+    private List<Match> sorted(List<Match> rows, Comparator<Match> order) {
+        List<Match> sorted = new ArrayList<>(rows);
+        sorted.sort(order);
+        return sorted;
+    }
+
+    //커서의 마지막 행 -> 비교용 Match
+    private Match toMatch(ProductCursor sortKey, ProductCursor last) {
+        try {
+            return switch (sortKey.sortProperty()) {
+                case "price" -> new Match(last.id(), Long.parseLong(last.value()), 0L);
+                case "createdAt" -> new Match(last.id(), 0L,
+                        ProductFacetColumns.epochMicros(LocalDateTime.parse(last.value())));
+                default -> new Match(last.id(), 0L, 0L);
+            };
+        } catch (RuntimeException e) {
+            throw new BusinessException("잘못된 커서입니다.", ErrorCode.INVALID_INPUT_VALUE);
+        }
+    }
+
+    private List<Long> ids(List<Match> rows) {
+        List<Long> ids = new ArrayList<>(rows.size());
+        for (Match row : rows) {
+            ids.add(row.id());
+        }
+        return ids;
+    }
+
+    /**
+     * @param filter 집계에도 그대로 쓰는 조건 (후보는 조건을 걸기 전 색인 결과 전체)
+     * @param rows   조건에 맞는 상품 (관련도 순)
+     */
+    public record Matches(ProductSearchCondition condition, ProductFacetColumns.Filter filter, List<Match> rows) {
+        public long total() {
+            return rows.size();
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.study.ecommerce.domain.product.service;
+
+import com.study.ecommerce.domain.product.repository.ProductSearchDocument;
+import com.study.ecommerce.global.common.NgramInvertedIndex;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 상품명/설명 키워드 검색용 메모리 역색인 (bigram + BM25)
+ * 상품 쓰기는 커밋 후 바로 반영하고, 전체 재구성은 새 색인을 따로 만든 뒤 교체한다
+ * 재구성 중에 들어온 변경은 기록해 두었다가 새 색인에 다시 적용해서 잃어버리지 않는다
+ * 첫 재구성이 끝나기 전(ready=false)에는 호출하는 쪽이 DB LIKE 조회로 처리한다
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductSearchIndex {
+    private static final int GRAM_SIZE = 2;
+    private static final double COMPACT_THRESHOLD = 0.5;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${product.search.name-weight:3}")
+    private int nameWeight;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private NgramInvertedIndex index = new NgramInvertedIndex(GRAM_SIZE);
+    private volatile boolean ready;
+
+    //색인 내용이 바뀔 때마다 증가 (검색 결과 캐시 세대에 포함)
+    private final AtomicLong version = new AtomicLong();
+
+    //재구성 중에 들어온 변경 (null 이면 재구성 중 아님)
+    private List<ProductSearchDocument> rebuildLog;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("product.search.index.documents", this, ProductSearchIndex::size)
+                .description("검색 색인에 들어 있는 상품 수")
+                .register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 색인으로 답할 수 있는 검색어인지 (두 글자 미만 단어가 섞여 있으면 DB 조회로 처리)
+     */
+    public boolean supports(String keyword) {
+        if (!ready) {
+            return false;
+        }
+        lock.readLock().lock();
+        try {
+            return index.supports(keyword);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 키워드를 포함하는 상품 id 를 관련도 순으로 전부 반환 (잘라내지 않음)
+     * 상태/가격 등 나머지 조건은 호출하는 쪽에서 집계 스냅샷 컬럼으로 걸러낸다 (ProductKeywordSearch)
+     * 색인으로 답할 수 없는 검색어면 null -> 호출하는 쪽은 DB LIKE 조회로 처리
+     */
+    public List<Long> search(String keyword) {
+        if (!StringUtils.hasText(keyword) || !supports(keyword)) {
+            return null;
+        }
+        long[] ids;
+        lock.readLock().lock();
+        try {
+            ids = index.search(keyword, Integer.MAX_VALUE);
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Long> result = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            result.add(id);
+        }
+        return result;
+    }
+
+    /**
+     * 상품 추가/수정 반영 (삭제 상품은 색인에서 뺀다)
+     */
+    public void put(ProductSearchDocument document) {
+        lock.writeLock().lock();
+        try {
+            apply(index, document);
+            version.incrementAndGet();
+            if (rebuildLog != null) {
+                rebuildLog.add(document);
+            }
+            if (index.deletedRatio() > COMPACT_THRESHOLD) {
+                index.compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        put(new ProductSearchDocument(productId, null, null));
+    }
+
+    /**
+     * 재구성 시작 -> 이 시점 이후의 변경을 기록
+     */
+    public NgramInvertedIndex beginRebuild() {
+        lock.writeLock().lock();
+        try {
+            rebuildLog = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return new NgramInvertedIndex(GRAM_SIZE);
+    }
+
+    public void addToRebuild(NgramInvertedIndex fresh, ProductSearchDocument document) {
+        apply(fresh, document);
+    }
+
+    /**
+     * 재구성 중 기록된 변경을 다시 적용하고 새 색인으로 교체
+     */
+    public void finishRebuild(NgramInvertedIndex fresh) {
+        lock.writeLock().lock();
+        try {
+            for (ProductSearchDocument document : rebuildLog) {
+                apply(fresh, document);
+            }
+            rebuildLog = null;
+            index = fresh;
+            ready = true;
+            version.incrementAndGet();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void abortRebuild() {
+        lock.writeLock().lock();
+        try {
+            rebuildLog = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long version() {
+        return version.get();
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    //이름/설명이 모두 null 이면 삭제로 본다
+    private void apply(NgramInvertedIndex target, ProductSearchDocument document) {
+        if (document.name() == null && document.description() == null) {
+            target.remove(document.id());
+            return;
+        }
+        target.put(document.id(),
+                new String[]{document.name(), document.description()},
+                new int[]{nameWeight, 1});
+    }
+}
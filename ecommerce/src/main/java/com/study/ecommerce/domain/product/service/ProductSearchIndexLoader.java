@@ -0,0 +1,60 @@
+package com.study.ecommerce.domain.product.service;
+
+import com.study.ecommerce.domain.product.entity.Product.ProductStatus;
+import com.study.ecommerce.domain.product.repository.ProductRepository;
+import com.study.ecommerce.domain.product.repository.ProductSearchDocument;
+import com.study.ecommerce.global.common.NgramInvertedIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 검색 색인 전체 재구성
+ * 기동 시 한 번, 이후 주기적으로 (다른 인스턴스의 상품 변경 반영 + 지워진 문서 정리)
+ * id 커서로 배치 조회해서 상품 테이블을 한 번만 훑는다
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductSearchIndexLoader {
+    private final ProductRepository productRepository;
+    private final ProductSearchIndex productSearchIndex;
+
+    @Value("${product.search.rebuild-batch-size:1000}")
+    private int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${product.search.rebuild-interval-ms:3600000}",
+            initialDelayString = "${product.search.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        long startedAt = System.currentTimeMillis();
+        NgramInvertedIndex fresh = productSearchIndex.beginRebuild();
+        try {
+            Long cursorId = 0L;
+            List<ProductSearchDocument> documents;
+            do {
+                documents = productRepository.findSearchDocumentsAfter(
+                        cursorId, ProductStatus.DELETED, PageRequest.of(0, batchSize));
+                for (ProductSearchDocument document : documents) {
+                    productSearchIndex.addToRebuild(fresh, document);
+                    cursorId = document.id();
+                }
+            } while (documents.size() == batchSize);
+        } catch (RuntimeException e) {
+            productSearchIndex.abortRebuild();
+            log.error("상품 검색 색인 재구성 실패", e);
+            return;
+        }
+
+        productSearchIndex.finishRebuild(fresh);
+        log.info("상품 검색 색인 재구성 documents={} elapsedMs={}",
+                productSearchIndex.size(), System.currentTimeMillis() - startedAt);
+    }
+}
@@ -0,0 +1,157 @@
+package com.study.ecommerce.domain.product.service;
+
+import com.study.ecommerce.domain.category.event.CategoryChangedEvent;
+import com.study.ecommerce.domain.product.dto.req.ProductSearchCondition;
+import com.study.ecommerce.domain.product.dto.resp.ProductSummaryDto;
+import com.study.ecommerce.domain.product.event.ProductChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+
+/**
+ * 검색 결과 페이지 캐시 (정규화한 검색 조건 + 페이지 기준)
+ * 항목마다 무효화하지 않고, 상품/카테고리 변경이 커밋될 때마다 카탈로그 세대(generation) 만 올린다
+ * 조회 전에 읽은 세대와 현재 세대가 다른 항목은 버리므로 변경 이후의 요청에 이전 결과가 나가지 않는다
+ * 메트릭: product.search-cache.requests{result=hit|miss}
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductSearchResultCache {
+    private final MeterRegistry meterRegistry;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductFacetCache productFacetCache;
+
+    @Value("${product.search-cache.size:2000}")
+    private int cacheSize;
+
+    private final AtomicLong generation = new AtomicLong();
+    private Map<SearchKey, CachedPage> cache;
+
+    private Counter hitCounter;
+    private Counter missCounter;
+
+    @PostConstruct
+    void init() {
+        //접근 순서 LinkedHashMap -> 가장 오래 안 쓴 조건부터 제거 (이전 세대 항목도 자연히 밀려난다)
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<SearchKey, CachedPage> eldest) {
+                return size() > cacheSize;
+            }
+        };
+        this.hitCounter = Counter.builder("product.search-cache.requests")
+                .description("검색 결과 캐시 조회 수")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("product.search-cache.requests")
+                .description("검색 결과 캐시 조회 수")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 정규화한 조건으로 캐시를 찾고, 없으면 정규화한 조건으로 검색해서 저장
+     */
+    public Page<ProductSummaryDto> get(ProductSearchCondition condition, Pageable pageable,
+                                       BiFunction<ProductSearchCondition, Pageable, Page<ProductSummaryDto>> search) {
+        if (pageable.isUnpaged()) {
+            return search.apply(condition, pageable);
+        }
+        ProductSearchCondition normalized = normalize(condition);
+        Pageable normalizedPageable = normalize(pageable);
+        SearchKey key = new SearchKey(normalized, normalizedPageable);
+
+        //세대는 조회 전에 읽는다 -> 조회 중 커밋된 변경이 있으면 이 결과는 이미 이전 세대
+        //키워드 색인/집계 스냅샷은 커밋 후 따로 갱신되므로 각 버전도 세대에 더한다 (모두 증가만 하므로 합도 증가만 한다)
+        long current = generation.get() + productSearchIndex.version() + productFacetCache.version();
+        synchronized (cache) {
+            CachedPage cached = cache.get(key);
+            if (cached != null) {
+                if (cached.generation() == current) {
+                    hitCounter.increment();
+                    return cached.page();
+                }
+                cache.remove(key);
+            }
+        }
+        missCounter.increment();
+
+        Page<ProductSummaryDto> page = search.apply(normalized, normalizedPageable);
+        synchronized (cache) {
+            cache.put(key, new CachedPage(current, page));
+        }
+        return page;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        generation.incrementAndGet();
+    }
+
+    //카테고리 이름/계층이 바뀌면 결과의 카테고리명, 하위 카테고리 포함 조건이 달라진다
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        generation.incrementAndGet();
+    }
+
+    /**
+     * 결과가 같은 조건은 같은 키가 되도록 정규화
+     * 키워드: 앞뒤 공백 제거 + 소문자 (검색은 대소문자 구분 없음), 빈 문자열은 null
+     * 가격: 0 이하 최소 가격은 조건 없음과 같다
+     * 하위 카테고리 포함: 카테고리가 없으면 의미 없음, null 은 false
+     */
+    static ProductSearchCondition normalize(ProductSearchCondition condition) {
+        String keyword = condition.keyword() != null ? condition.keyword().trim().toLowerCase(Locale.ROOT) : null;
+        if (keyword != null && keyword.isEmpty()) {
+            keyword = null;
+        }
+        Long minPrice = condition.minPrice() != null && condition.minPrice() > 0 ? condition.minPrice() : null;
+        Boolean includeDescendants = condition.categoryId() != null && Boolean.TRUE.equals(condition.includeDescendants());
+
+        return new ProductSearchCondition(
+                keyword,
+                condition.categoryId(),
+                minPrice,
+                condition.maxPrice(),
+                condition.sellerId(),
+                includeDescendants
+        );
+    }
+
+    /**
+     * 정렬은 getOrderSpecifier 가 실제로 쓰는 첫 번째 항목만 남긴다
+     * price/createdAt 외의 정렬은 모두 id 내림차순으로 처리되므로 같은 키로 모은다 (정렬 없음 = 관련도 순은 따로)
+     */
+    static Pageable normalize(Pageable pageable) {
+        Sort sort = Sort.unsorted();
+        for (Sort.Order order : pageable.getSort()) {
+            sort = switch (order.getProperty()) {
+                case "price", "createdAt" -> Sort.by(order.getDirection(), order.getProperty());
+                default -> Sort.by(Sort.Direction.DESC, "id");
+            };
+            break;
+        }
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
+    }
+
+    private record SearchKey(ProductSearchCondition condition, Pageable pageable) {
+    }
+
+    private record CachedPage(long generation, Page<ProductSummaryDto> page) {
+    }
+}
@@ -2,47 +2,123 @@ package com.study.ecommerce.domain.product.service;
 
 import com.study.ecommerce.domain.category.entity.Category;
 import com.study.ecommerce.domain.category.repository.CategoryRepository;
+import com.study.ecommerce.domain.category.service.CategoryNameDictionary;
 import com.study.ecommerce.domain.member.entity.Member;
 import com.study.ecommerce.domain.member.repository.MemberRepository;
 import com.study.ecommerce.domain.product.dto.req.ProductCreateRequest;
+import com.study.ecommerce.domain.product.dto.req.ProductFacet;
+import com.study.ecommerce.domain.product.dto.req.ProductField;
 import com.study.ecommerce.domain.product.dto.req.ProductSearchCondition;
 import com.study.ecommerce.domain.product.dto.req.ProductUpdateRequest;
+import com.study.ecommerce.domain.product.dto.resp.ProductCursorResponse;
+import com.study.ecommerce.domain.product.dto.resp.ProductFacets;
 import com.study.ecommerce.domain.product.dto.resp.ProductResponse;
+import com.study.ecommerce.domain.product.dto.resp.ProductSearchResult;
 import com.study.ecommerce.domain.product.dto.resp.ProductSummaryDto;
+import com.study.ecommerce.domain.product.dto.resp.ProductView;
 import com.study.ecommerce.domain.product.entity.Product;
+import com.study.ecommerce.domain.product.event.ProductChangedEvent;
 import com.study.ecommerce.domain.product.repository.ProductRepository;
 import com.study.ecommerce.global.error.exception.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class ProductService {
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
+    private final CategoryNameDictionary categoryNameDictionary;
     private final MemberRepository memberRepository;
+    private final ProductCountCache productCountCache;
+    private final ProductDetailCache productDetailCache;
+    private final ProductSearchResultCache productSearchResultCache;
+    private final ProductKeywordSearch productKeywordSearch;
+    private final ProductFacetCache productFacetCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
-    public Page<ProductResponse> getProducts(ProductSearchCondition condition, Pageable pageable){
-       Page<ProductSummaryDto> productSummaryDtos = productRepository.searchProducts(condition, pageable);
-
-            return productSummaryDtos.map(dto ->new ProductResponse(
-                    dto.id(),
-                    dto.name(),
-                    null,
-                    dto.price(),
-                    dto.stockQuantity(),
-                    dto.status(),
-                    dto.categoryName()
-            ));
+    public Page<ProductSummaryDto> getProducts(ProductSearchCondition condition, Pageable pageable){
+       //같은 조건(정규화 기준)의 결과는 카탈로그가 바뀌기 전까지 캐시에서 반환
+       //목록은 projection 그대로 반환 (description 을 읽지도, 응답에 싣지도 않는다)
+       return productSearchResultCache.get(condition, pageable, (c, p) -> {
+           ProductKeywordSearch.Matches matches = productKeywordSearch.search(c);
+           return matches != null ? productKeywordSearch.page(matches, p) : productRepository.searchProducts(c, p);
+       });
+    }
+
+    //fields 에 담긴 컬럼만 조회 (필드 조합마다 결과가 달라서 검색 결과 캐시는 쓰지 않는다)
+    @Transactional(readOnly = true)
+    public Page<ProductView> getProducts(ProductSearchCondition condition, Pageable pageable, Set<ProductField> fields){
+        ProductKeywordSearch.Matches matches = productKeywordSearch.search(condition);
+        return matches != null
+                ? productKeywordSearch.page(matches, pageable, fields)
+                : productRepository.searchProductFields(condition, pageable, fields);
+    }
+
+    /**
+     * 검색 목록 + 요청한 집계(카테고리/가격대/판매자별 상품 수)
+     * 집계는 DB 에 항목마다 COUNT 쿼리를 보내지 않고, 메모리 컬럼 스냅샷을 한 번 훑어서 요청한 항목을 모두 계산한다
+     */
+    @Transactional(readOnly = true)
+    public ProductSearchResult searchProducts(ProductSearchCondition condition, Pageable pageable,
+                                              Set<ProductFacet> facets){
+        //색인 검색 조건(후보 id, 카테고리 id)은 목록/집계에서 같이 사용
+        ProductKeywordSearch.Matches matches = productKeywordSearch.search(condition);
+        Page<ProductSummaryDto> products = matches != null
+                ? productKeywordSearch.page(matches, pageable)
+                : productRepository.searchProducts(condition, pageable);
+        if (facets == null || facets.isEmpty()) {
+            return new ProductSearchResult(products, ProductFacets.empty());
+        }
+        if (matches != null) {
+            return new ProductSearchResult(products, productFacetCache.count(matches.filter(), facets));
+        }
+
+        //색인으로 처리하지 못한 키워드 -> DB 에서 후보 id 조회
+        List<Long> candidateIds = null;
+        if (StringUtils.hasText(condition.keyword())) {
+            candidateIds = productRepository.findActiveIdsByKeyword(condition.keyword());
+        }
+
+        ProductFacetColumns.Filter filter = new ProductFacetColumns.Filter(
+                candidateIds,
+                productRepository.findCategoryIds(condition.categoryId(), condition.includeDescendants()),
+                condition.minPrice(),
+                condition.maxPrice(),
+                condition.sellerId()
+        );
+        return new ProductSearchResult(products, productFacetCache.count(filter, facets));
+    }
+
+    /**
+     * 커서(keyset) 기반 검색 -> 깊은 페이지도 OFFSET/COUNT 없이 조회
+     * @param cursor       이전 응답의 nextCursor (첫 페이지는 null)
+     * @param includeTotal true 면 캐시된 근사 전체 건수를 함께 반환
+     */
+    @Transactional(readOnly = true)
+    public ProductCursorResponse searchProducts(ProductSearchCondition condition, Sort sort,
+                                                String cursor, int size, boolean includeTotal){
+        if (size < 1 || size > 100) {
+            throw new IllegalArgumentException("조회 개수는 1 ~ 100 사이여야 합니다.");
+        }
+        ProductKeywordSearch.Matches matches = productKeywordSearch.search(condition);
+        ProductCursorResponse response = matches != null
+                ? productKeywordSearch.cursorPage(matches, sort, cursor, size)
+                : productRepository.searchProductsByCursor(condition, sort, cursor, size);
+        return includeTotal ? response.withApproximateTotal(productCountCache.approximateTotal(condition)) : response;
     }
 
     @Transactional
@@ -50,6 +126,12 @@ public class ProductService {
         Member seller = memberRepository.findByEmail(email)
                 .orElseThrow(() -> new IllegalArgumentException("판매자를 찾을수 없습니다"));
 
+        return createProduct(request, seller.getId());
+    }
+
+    //인증 principal 의 회원 id 를 바로 사용 (이메일로 판매자 조회 생략)
+    @Transactional
+    public ProductResponse createProduct(ProductCreateRequest request, Long sellerId){
         Category category = categoryRepository.findById(request.categoryId())
                 .orElseThrow(() -> new IllegalArgumentException("카테고리를 찾을수 없습니다"));
 
@@ -58,11 +140,12 @@ public class ProductService {
                 .price(request.price())
                 .stockQuantity(request.stockQuantity())
                 .status(Product.ProductStatus.ACTIVE)
-                .sellerId(seller.getId())
+                .sellerId(sellerId)
                 .categoryId(category.getId())
                 .build();
 
         productRepository.save(product);
+        eventPublisher.publishEvent(ProductChangedEvent.of(product.getId()));
 
         return new ProductResponse(
                 product.getId(),
@@ -87,33 +170,26 @@ public class ProductService {
             throw new IllegalArgumentException("판매자가 아닙니다.");
         }
         product.delete();
+        eventPublisher.publishEvent(ProductChangedEvent.of(id));
     }
 
+    //상품 상세는 캐시에서 조회 (없으면 상품/카테고리 조회 후 캐시)
     @Transactional(readOnly = true)
     public ProductResponse getProduct(Long id){
-        Product product = productRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("상품을 찾을수 없습니다"));
-
-        Category category = null;
-        String categoryName = "분류없음";
-
-        if(product.getCategoryId() != null){
-            category = categoryRepository.findById(product.getCategoryId())
-                    .orElse(null);
-
-            if (category != null){
-                categoryName = category.getName();
-            }
-
+        ProductResponse cached = productDetailCache.get(id);
+        if (cached == null) {
+            throw new IllegalArgumentException("상품을 찾을수 없습니다");
         }
 
+        String categoryName = cached.categoryName() != null ? cached.categoryName() : "분류없음";
+
         return new ProductResponse(
-                product.getId(),
-                product.getName(),
-                product.getDescription(),
-                product.getPrice(),
-                product.getStockQuantity(),
-                product.getStatus(),
+                cached.id(),
+                cached.name(),
+                cached.description(),
+                cached.price(),
+                cached.stockQuantity(),
+                cached.status(),
                 categoryName
         );
     }
@@ -135,11 +211,9 @@ public class ProductService {
             throw new IllegalArgumentException("판매자가 아닙니다.");
         }
 
-        Category category = categoryRepository.findById(product.getCategoryId())
-                .orElseThrow(() -> new IllegalArgumentException("카테고리를 찾을수 없습니다"));
-
         product.update(request.name(), request.description(),
                 request.price(), request.stockQuantity());
+        eventPublisher.publishEvent(ProductChangedEvent.of(id));
 
         return new ProductResponse(
                 product.getId(),
@@ -148,7 +222,7 @@ public class ProductService {
                 product.getPrice(),
                 product.getStockQuantity(),
                 product.getStatus(),
-                category.getName()
+                categoryNameDictionary.nameOf(product.getCategoryId(), "분류없음")
         );
     }
 
@@ -0,0 +1,96 @@
+package com.study.ecommerce.global.common;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 계층형 타이밍 휠 (id 별 마감 시각 관리)
+ * 1단계 휠은 tickMs * wheelSize 범위만 담고, 그보다 먼 마감은 tick 이 wheelSize 배인 상위 휠에 담는다
+ * 하위 휠이 한 바퀴 돌 때마다 상위 휠의 현재 칸을 하위 휠로 내려보낸다 (cascade)
+ * 추가/만료 모두 O(1) 이라 전체 목록을 훑지 않는다
+ * 마감이 지난 항목만 꺼내므로 만료가 빨라지는 일은 없고, 최대 tickMs 만큼 늦어질 수 있다
+ */
+public class HierarchicalTimingWheel {
+    private final long tickMs;
+    private final int wheelSize;
+    private final long spanMs;
+    private final List<Entry>[] buckets;
+    //현재 칸의 시작 시각 (항상 tickMs 의 배수)
+    private long currentTime;
+    private HierarchicalTimingWheel overflowWheel;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, long startMs) {
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.spanMs = tickMs * wheelSize;
+        this.buckets = new List[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new ArrayList<>();
+        }
+        this.currentTime = startMs - (startMs % tickMs);
+    }
+
+    /**
+     * @return 이미 마감이 지난 경우 false (호출한 쪽에서 바로 만료 처리)
+     */
+    public synchronized boolean add(long id, long deadlineMs) {
+        return add(new Entry(id, deadlineMs));
+    }
+
+    /**
+     * nowMs 까지 시간을 진행하고 마감이 지난 id 를 꺼낸다
+     */
+    public synchronized List<Long> advance(long nowMs) {
+        List<Long> expired = new ArrayList<>();
+        List<Entry> due = new ArrayList<>();
+        while (currentTime + tickMs <= nowMs) {
+            advanceOneTick(due);
+        }
+        for (Entry entry : due) {
+            expired.add(entry.id());
+        }
+        return expired;
+    }
+
+    private boolean add(Entry entry) {
+        if (entry.deadlineMs() < currentTime) {
+            return false;
+        }
+        if (entry.deadlineMs() < currentTime + spanMs) {
+            buckets[indexOf(entry.deadlineMs())].add(entry);
+            return true;
+        }
+        if (overflowWheel == null) {
+            overflowWheel = new HierarchicalTimingWheel(spanMs, wheelSize, currentTime);
+        }
+        return overflowWheel.add(entry);
+    }
+
+    private void advanceOneTick(List<Entry> due) {
+        //[currentTime, currentTime + tickMs) 칸은 시간이 지나면 전부 마감
+        List<Entry> bucket = buckets[indexOf(currentTime)];
+        due.addAll(bucket);
+        bucket.clear();
+        currentTime += tickMs;
+
+        //한 바퀴를 다 돌면 상위 휠을 한 칸 진행하고, 상위 휠의 현재 칸을 이 휠로 내려보낸다
+        if (overflowWheel != null && currentTime % spanMs == 0) {
+            overflowWheel.advanceOneTick(due);
+            List<Entry> cascaded = overflowWheel.buckets[overflowWheel.indexOf(overflowWheel.currentTime)];
+            for (Entry entry : cascaded) {
+                if (!add(entry)) {
+                    due.add(entry);
+                }
+            }
+            cascaded.clear();
+        }
+    }
+
+    private int indexOf(long timeMs) {
+        return (int) ((timeMs / tickMs) % wheelSize);
+    }
+
+    private record Entry(long id, long deadlineMs) {
+    }
+}
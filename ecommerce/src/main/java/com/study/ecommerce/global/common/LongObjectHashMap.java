@@ -0,0 +1,87 @@
+package com.study.ecommerce.global.common;
+
+/**
+ * long 키 해시맵 (open addressing, 선형 탐사)
+ * 키를 Long 으로 박싱하지 않고 long[] 에 그대로 보관한다 -> 조회 시 객체 생성 없음
+ * 삭제는 지원하지 않는다 (한 번 만들고 읽기만 하는 사전 용도), 동기화하지 않음
+ */
+public class LongObjectHashMap<V> {
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] keys;
+    private Object[] values;
+    private boolean[] used;
+    private int mask;
+    private int size;
+
+    public LongObjectHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(2, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    public void put(long key, V value) {
+        int index = indexOf(key);
+        if (!used[index]) {
+            used[index] = true;
+            keys[index] = key;
+            size++;
+        }
+        values[index] = value;
+        if (size > keys.length * LOAD_FACTOR) {
+            resize();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int index = indexOf(key);
+        return used[index] ? (V) values[index] : null;
+    }
+
+    public boolean containsKey(long key) {
+        return used[indexOf(key)];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    //키가 있는 칸 또는 처음 만난 빈 칸
+    private int indexOf(long key) {
+        int index = mix(key) & mask;
+        while (used[index] && keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        boolean[] oldUsed = used;
+        allocate(oldKeys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                int index = indexOf(oldKeys[i]);
+                used[index] = true;
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+                size++;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        this.keys = new long[capacity];
+        this.values = new Object[capacity];
+        this.used = new boolean[capacity];
+        this.mask = capacity - 1;
+        this.size = 0;
+    }
+
+    //연속된 id 가 같은 칸 근처에 몰리지 않도록 비트를 섞는다
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
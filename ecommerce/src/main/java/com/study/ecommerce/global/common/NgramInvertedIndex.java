@@ -0,0 +1,318 @@
+package com.study.ecommerce.global.common;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * n-gram 역색인 + BM25 랭킹 (형태소 분석기 없이 한글 부분 문자열 검색)
+ * 단어를 n 글자씩 겹쳐 잘라 색인하고, 검색어의 n-gram 이 모두 들어 있는 문서만 후보로 삼는다 (LIKE '%kw%' 근사)
+ * 게시 목록은 내부 문서 번호(int) 오름차순 배열이라 가장 짧은 목록부터 교집합을 구한다
+ * 수정/삭제는 기존 번호를 지우고(tombstone) 새 번호를 붙이며, 지워진 번호가 많아지면 compact 로 정리한다
+ * 동기화하지 않으므로 호출하는 쪽에서 읽기/쓰기 락을 잡아야 한다
+ */
+public class NgramInvertedIndex {
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final int gramSize;
+
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private final List<Postings> postings = new ArrayList<>();
+
+    //내부 문서 번호 -> 외부 id / 문서 길이(n-gram 수) / 삭제 여부
+    private long[] externalIds = new long[1024];
+    private int[] docLengths = new int[1024];
+    private boolean[] deleted = new boolean[1024];
+    private int docCount;
+
+    //외부 id -> 살아 있는 내부 문서 번호
+    private final Map<Long, Integer> liveDocs = new HashMap<>();
+    private long totalLength;
+
+    public NgramInvertedIndex(int gramSize) {
+        if (gramSize < 1) {
+            throw new IllegalArgumentException("gramSize 는 1 이상이어야 합니다.");
+        }
+        this.gramSize = gramSize;
+    }
+
+    /**
+     * 문서 추가 (같은 id 가 있으면 교체)
+     * @param fields   색인할 필드 값 (null 무시)
+     * @param weights  필드별 가중치 (같은 n-gram 을 weight 번 등장한 것으로 센다)
+     */
+    public void put(long id, String[] fields, int[] weights) {
+        remove(id);
+
+        Map<String, Integer> termFreqs = new LinkedHashMap<>();
+        for (int i = 0; i < fields.length; i++) {
+            for (String gram : grams(fields[i])) {
+                termFreqs.merge(gram, weights[i], Integer::sum);
+            }
+        }
+        if (termFreqs.isEmpty()) {
+            return;
+        }
+
+        int doc = newDoc(id);
+        int length = 0;
+        for (Map.Entry<String, Integer> entry : termFreqs.entrySet()) {
+            int termId = termIds.computeIfAbsent(entry.getKey(), key -> {
+                postings.add(new Postings());
+                return postings.size() - 1;
+            });
+            postings.get(termId).append(doc, entry.getValue());
+            length += entry.getValue();
+        }
+        docLengths[doc] = length;
+        totalLength += length;
+    }
+
+    public void remove(long id) {
+        Integer doc = liveDocs.remove(id);
+        if (doc == null) {
+            return;
+        }
+        deleted[doc] = true;
+        totalLength -= docLengths[doc];
+    }
+
+    public int size() {
+        return liveDocs.size();
+    }
+
+    /**
+     * 검색어를 색인 단위로 처리할 수 있는지 (n 글자보다 짧은 단어가 있으면 n-gram 으로 찾을 수 없다)
+     */
+    public boolean supports(String query) {
+        List<String> words = words(query);
+        if (words.isEmpty()) {
+            return false;
+        }
+        for (String word : words) {
+            if (word.codePointCount(0, word.length()) < gramSize) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 검색어의 n-gram 이 모두 포함된 문서를 BM25 점수 내림차순으로 limit 개까지 반환
+     * @return 외부 id 배열
+     */
+    public long[] search(String query, int limit) {
+        List<String> grams = new ArrayList<>(new LinkedHashSet<>(grams(query)));
+        if (grams.isEmpty() || liveDocs.isEmpty() || limit <= 0) {
+            return new long[0];
+        }
+
+        Postings[] lists = new Postings[grams.size()];
+        for (int i = 0; i < grams.size(); i++) {
+            Integer termId = termIds.get(grams.get(i));
+            if (termId == null) {
+                return new long[0];
+            }
+            lists[i] = postings.get(termId);
+        }
+        //문서 빈도가 작은 목록부터 교집합 -> 후보가 빨리 줄어든다
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+
+        int live = liveDocs.size();
+        double avgLength = (double) totalLength / live;
+        double[] idf = new double[lists.length];
+        for (int i = 0; i < lists.length; i++) {
+            int df = lists[i].size;
+            idf[i] = Math.log(1 + (live - df + 0.5) / (df + 0.5));
+        }
+
+        //점수 하위 항목부터 꺼내는 최소 힙 (limit 개 유지)
+        PriorityQueue<ScoredDoc> top = new PriorityQueue<>(
+                (a, b) -> a.score() != b.score() ? Double.compare(a.score(), b.score()) : Integer.compare(b.doc(), a.doc()));
+        int[] cursors = new int[lists.length];
+        Postings driver = lists[0];
+
+        candidates:
+        for (int p = 0; p < driver.size; p++) {
+            int doc = driver.docs[p];
+            if (deleted[doc]) {
+                continue;
+            }
+            double norm = K1 * (1 - B + B * docLengths[doc] / avgLength);
+            double score = idf[0] * bm25(driver.freqs[p], norm);
+            for (int i = 1; i < lists.length; i++) {
+                int pos = lists[i].advance(cursors[i], doc);
+                cursors[i] = pos;
+                if (pos == lists[i].size) {
+                    break candidates;
+                }
+                if (lists[i].docs[pos] != doc) {
+                    continue candidates;
+                }
+                score += idf[i] * bm25(lists[i].freqs[pos], norm);
+            }
+
+            if (top.size() < limit) {
+                top.add(new ScoredDoc(doc, score));
+            } else if (score > top.peek().score()) {
+                top.poll();
+                top.add(new ScoredDoc(doc, score));
+            }
+        }
+
+        long[] result = new long[top.size()];
+        for (int i = result.length - 1; i >= 0; i--) {
+            result[i] = externalIds[top.poll().doc()];
+        }
+        return result;
+    }
+
+    /**
+     * 삭제된 문서 비율
+     */
+    public double deletedRatio() {
+        return docCount == 0 ? 0 : (double) (docCount - liveDocs.size()) / docCount;
+    }
+
+    /**
+     * 삭제된 문서 번호를 게시 목록에서 걷어내고 번호를 다시 매긴다 (순서가 유지되어 목록은 계속 정렬 상태)
+     */
+    public void compact() {
+        int[] remap = new int[docCount];
+        int next = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (deleted[doc]) {
+                remap[doc] = -1;
+                continue;
+            }
+            remap[doc] = next;
+            externalIds[next] = externalIds[doc];
+            docLengths[next] = docLengths[doc];
+            deleted[next] = false;
+            next++;
+        }
+        Arrays.fill(deleted, next, docCount, false);
+        docCount = next;
+
+        liveDocs.replaceAll((id, doc) -> remap[doc]);
+        for (Postings list : postings) {
+            list.remap(remap);
+        }
+    }
+
+    /**
+     * 정규화(NFKC, 소문자) 후 글자/숫자가 아닌 문자로 단어를 나눈다
+     */
+    private List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase();
+        StringBuilder word = new StringBuilder();
+        normalized.codePoints().forEach(cp -> {
+            if (Character.isLetterOrDigit(cp)) {
+                word.appendCodePoint(cp);
+            } else if (!word.isEmpty()) {
+                words.add(word.toString());
+                word.setLength(0);
+            }
+        });
+        if (!word.isEmpty()) {
+            words.add(word.toString());
+        }
+        return words;
+    }
+
+    //단어별 n-gram (n 글자보다 짧은 단어는 단어 자체를 하나의 항목으로 색인)
+    private List<String> grams(String text) {
+        List<String> grams = new ArrayList<>();
+        for (String word : words(text)) {
+            int[] cps = word.codePoints().toArray();
+            if (cps.length <= gramSize) {
+                grams.add(word);
+                continue;
+            }
+            for (int i = 0; i + gramSize <= cps.length; i++) {
+                grams.add(new String(cps, i, gramSize));
+            }
+        }
+        return grams;
+    }
+
+    private int newDoc(long id) {
+        if (docCount == externalIds.length) {
+            int capacity = docCount * 2;
+            externalIds = Arrays.copyOf(externalIds, capacity);
+            docLengths = Arrays.copyOf(docLengths, capacity);
+            deleted = Arrays.copyOf(deleted, capacity);
+        }
+        int doc = docCount++;
+        externalIds[doc] = id;
+        liveDocs.put(id, doc);
+        return doc;
+    }
+
+    private static double bm25(int tf, double norm) {
+        return tf * (K1 + 1) / (tf + norm);
+    }
+
+    private record ScoredDoc(int doc, double score) {
+    }
+
+    /**
+     * 한 n-gram 의 게시 목록 (문서 번호 오름차순, 빈도)
+     */
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private int[] freqs = new int[4];
+        private int size;
+
+        void append(int doc, int freq) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size] = freq;
+            size++;
+        }
+
+        //from 위치부터 doc 이상인 첫 위치 (지수 탐색 후 이분 탐색)
+        int advance(int from, int doc) {
+            if (from >= size || docs[from] >= doc) {
+                return from;
+            }
+            int step = 1;
+            int lo = from;
+            int hi = from + 1;
+            while (hi < size && docs[hi] < doc) {
+                lo = hi;
+                step <<= 1;
+                hi = from + step;
+            }
+            int pos = Arrays.binarySearch(docs, lo + 1, Math.min(hi + 1, size), doc);
+            return pos >= 0 ? pos : -pos - 1;
+        }
+
+        void remap(int[] remap) {
+            int next = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = remap[docs[i]];
+                if (doc >= 0) {
+                    docs[next] = doc;
+                    freqs[next] = freqs[i];
+                    next++;
+                }
+            }
+            size = next;
+        }
+    }
+}
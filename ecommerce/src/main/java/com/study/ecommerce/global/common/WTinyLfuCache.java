@@ -0,0 +1,199 @@
+package com.study.ecommerce.global.common;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * W-TinyLFU 방식의 크기 제한 캐시
+ * 새 항목은 작은 window(LRU, 전체의 1%) 에 먼저 들어가고, window 에서 밀려난 항목은
+ * main 영역(SLRU: probation 20% + protected 80%) 의 희생 후보와 접근 빈도를 비교해서 더 자주 쓰인 쪽만 남는다
+ * 빈도는 4비트 count-min sketch 로 근사하고, 일정 횟수마다 절반으로 줄여 오래된 인기를 잊는다
+ * 한 번만 조회되고 마는 항목이 자주 쓰이는 항목을 밀어내지 못한다 (순수 LRU 의 스캔 오염 방지)
+ * 모든 연산은 synchronized (LRU 순서 갱신이 조회에서도 일어나므로)
+ */
+public class WTinyLfuCache<K, V> {
+    private final int windowCapacity;
+    private final int protectedCapacity;
+    private final int mainCapacity;
+
+    //접근 순서 LinkedHashMap -> 맨 앞이 가장 오래 안 쓴 항목
+    private final LinkedHashMap<K, V> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<K, V> probation = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<K, V> protectedSegment = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final FrequencySketch sketch;
+    private long evictionCount;
+
+    public WTinyLfuCache(int maximumSize) {
+        if (maximumSize < 2) {
+            throw new IllegalArgumentException("maximumSize 는 2 이상이어야 합니다.");
+        }
+        this.windowCapacity = Math.max(1, maximumSize / 100);
+        this.mainCapacity = maximumSize - windowCapacity;
+        this.protectedCapacity = (int) (mainCapacity * 0.8);
+        this.sketch = new FrequencySketch(maximumSize);
+    }
+
+    public synchronized V get(K key) {
+        sketch.increment(key.hashCode());
+
+        V value = window.get(key);
+        if (value != null) {
+            return value;
+        }
+        value = protectedSegment.get(key);
+        if (value != null) {
+            return value;
+        }
+        value = probation.remove(key);
+        if (value != null) {
+            //probation 에서 다시 쓰이면 protected 로 승격, 넘치면 protected 의 가장 오래된 항목을 probation 으로 강등
+            protectedSegment.put(key, value);
+            if (protectedSegment.size() > protectedCapacity) {
+                Map.Entry<K, V> demoted = removeEldest(protectedSegment);
+                probation.put(demoted.getKey(), demoted.getValue());
+            }
+        }
+        return value;
+    }
+
+    public synchronized void put(K key, V value) {
+        if (window.containsKey(key)) {
+            window.put(key, value);
+            return;
+        }
+        if (protectedSegment.containsKey(key)) {
+            protectedSegment.put(key, value);
+            return;
+        }
+        if (probation.containsKey(key)) {
+            probation.put(key, value);
+            return;
+        }
+
+        window.put(key, value);
+        if (window.size() > windowCapacity) {
+            Map.Entry<K, V> candidate = removeEldest(window);
+            admit(candidate);
+        }
+    }
+
+    public synchronized void invalidate(K key) {
+        if (window.remove(key) == null && probation.remove(key) == null) {
+            protectedSegment.remove(key);
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        window.clear();
+        probation.clear();
+        protectedSegment.clear();
+    }
+
+    public synchronized int size() {
+        return window.size() + probation.size() + protectedSegment.size();
+    }
+
+    public synchronized long evictionCount() {
+        return evictionCount;
+    }
+
+    //window 에서 밀려난 후보를 main 에 넣고, main 이 넘치면 후보와 희생 후보 중 빈도가 낮은 쪽을 버린다
+    private void admit(Map.Entry<K, V> candidate) {
+        probation.put(candidate.getKey(), candidate.getValue());
+        if (probation.size() + protectedSegment.size() <= mainCapacity) {
+            return;
+        }
+
+        LinkedHashMap<K, V> victimSegment = probation.size() > 1 ? probation : protectedSegment;
+        K victim = victimSegment.keySet().iterator().next();
+        if (victim.equals(candidate.getKey())) {
+            victimSegment = protectedSegment;
+            victim = protectedSegment.keySet().iterator().next();
+        }
+
+        //동률이면 기존 항목을 남긴다 (새 항목이 이겨야만 교체)
+        if (sketch.frequency(candidate.getKey().hashCode()) > sketch.frequency(victim.hashCode())) {
+            victimSegment.remove(victim);
+        } else {
+            probation.remove(candidate.getKey());
+        }
+        evictionCount++;
+    }
+
+    private Map.Entry<K, V> removeEldest(LinkedHashMap<K, V> segment) {
+        Iterator<Map.Entry<K, V>> iterator = segment.entrySet().iterator();
+        Map.Entry<K, V> eldest = iterator.next();
+        Map.Entry<K, V> copy = Map.entry(eldest.getKey(), eldest.getValue());
+        iterator.remove();
+        return copy;
+    }
+
+    /**
+     * 4비트 카운터 count-min sketch (long 하나에 카운터 16개)
+     * 증가 횟수가 sampleSize 에 도달하면 모든 카운터를 절반으로 줄인다 (aging)
+     */
+    private static final class FrequencySketch {
+        private static final long[] SEEDS = {
+                0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+        private static final long RESET_MASK = 0x7777777777777777L;
+
+        private final long[] table;
+        private final int counterMask;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(int maximumSize) {
+            //항목 수 이상인 2의 거듭제곱 개의 long (카운터는 항목당 16개 이상)
+            int length = maximumSize <= 1 ? 1 : Integer.highestOneBit(maximumSize - 1) << 1;
+            this.table = new long[length];
+            this.counterMask = table.length * 16 - 1;
+            this.sampleSize = 10 * maximumSize;
+        }
+
+        void increment(int hash) {
+            boolean added = false;
+            for (int i = 0; i < SEEDS.length; i++) {
+                added |= incrementAt(indexOf(hash, i));
+            }
+            if (added && ++additions >= sampleSize) {
+                reset();
+            }
+        }
+
+        int frequency(int hash) {
+            int frequency = Integer.MAX_VALUE;
+            for (int i = 0; i < SEEDS.length; i++) {
+                int index = indexOf(hash, i);
+                int count = (int) ((table[index >>> 4] >>> ((index & 15) << 2)) & 0xfL);
+                frequency = Math.min(frequency, count);
+            }
+            return frequency;
+        }
+
+        private boolean incrementAt(int index) {
+            int slot = index >>> 4;
+            int offset = (index & 15) << 2;
+            long mask = 0xfL << offset;
+            if ((table[slot] & mask) == mask) {
+                return false;
+            }
+            table[slot] += 1L << offset;
+            return true;
+        }
+
+        private int indexOf(int hash, int i) {
+            long h = (hash + SEEDS[i]) * SEEDS[i];
+            h += h >>> 32;
+            return (int) h & counterMask;
+        }
+
+        private void reset() {
+            for (int i = 0; i < table.length; i++) {
+                table[i] = (table[i] >>> 1) & RESET_MASK;
+            }
+            additions /= 2;
+        }
+    }
+}
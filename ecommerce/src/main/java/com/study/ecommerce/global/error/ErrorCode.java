@@ -11,15 +11,18 @@ public enum ErrorCode {
     RESOURCE_NOT_FOUND(404,"C004","Access Denied"),
     METHOD_NOT_ALLOWED(405,"C005","Method Not Allowed"),
     INTERNAL_SERVER_ERROR(500,"C005","Server Error"),
+    TOO_MANY_REQUESTS(429,"C006","Too Many Requests"),
 
     // Member
     EMAIL_DUPLICATION(400, "M001", "Email is Duplicated"),
     MEMBER_NOT_FOUND(404, "M002", "Member Not Found"),
     PASSWORD_NOT_MATCH(400, "M003", "Password Not Match"),
+    LOGIN_THROTTLED(429, "M004", "Too Many Login Requests"),
 
     // Product
     PRODUCT_NOT_FOUND(404, "P001", "Product Not Found"),
     OUT_OF_STOCK(400, "P002", "Out of Stock"),
+    FLASH_SALE_QUEUE_FULL(429, "P003", "Flash Sale Queue Full"),
 
     // Order
     ORDER_NOT_FOUND(404, "O001", "Order Not Found"),
@@ -0,0 +1,110 @@
+package com.study.ecommerce.global.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 클라이언트(회원 id 또는 IP) 별 토큰 버킷 보관소
+ * 버킷은 ConcurrentHashMap 하나에 보관하고 (내부적으로 bin 단위 락이라 별도 stripe 불필요), 한동안 쓰지 않은 버킷은 주기적으로 지운다
+ * 거절 수는 actuator 메트릭 rate-limit.rejected{group, client} 로 노출
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimiter {
+    private final MeterRegistry meterRegistry;
+
+    @Value("${rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${rate-limit.idle-seconds:300}")
+    private long idleSeconds;
+
+    @Value("${rate-limit.auth.capacity:10}")
+    private long authCapacity;
+    @Value("${rate-limit.auth.refill-per-second:1}")
+    private double authRefillPerSecond;
+
+    @Value("${rate-limit.browse.capacity:100}")
+    private long browseCapacity;
+    @Value("${rate-limit.browse.refill-per-second:50}")
+    private double browseRefillPerSecond;
+
+    @Value("${rate-limit.checkout.capacity:20}")
+    private long checkoutCapacity;
+    @Value("${rate-limit.checkout.refill-per-second:5}")
+    private double checkoutRefillPerSecond;
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    private final Map<RouteGroup, Map<String, Counter>> rejectedCounters = new EnumMap<>(RouteGroup.class);
+
+    @PostConstruct
+    void init() {
+        for (RouteGroup group : RouteGroup.values()) {
+            Map<String, Counter> counters = new ConcurrentHashMap<>();
+            for (String client : new String[]{"member", "ip"}) {
+                counters.put(client, Counter.builder("rate-limit.rejected")
+                        .description("요청 제한으로 거절된 요청 수")
+                        .tag("group", group.name().toLowerCase())
+                        .tag("client", client)
+                        .register(meterRegistry));
+            }
+            rejectedCounters.put(group, counters);
+        }
+        Gauge.builder("rate-limit.buckets", this, RateLimiter::bucketCount)
+                .description("보관 중인 토큰 버킷 수")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param memberId 인증된 요청이면 회원 id, 아니면 null (IP 로 제한)
+     * @return 허용이면 0, 거절이면 다음 토큰까지 남은 시간(ns)
+     */
+    public long tryAcquire(RouteGroup group, Long memberId, String clientIp) {
+        String client = memberId != null ? "member" : "ip";
+        String key = group.name() + ':' + client + ':' + (memberId != null ? memberId : clientIp);
+
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.computeIfAbsent(key, k -> newBucket(group, now));
+        long waitNanos = bucket.tryConsume(now);
+        if (waitNanos > 0) {
+            rejectedCounters.get(group).get(client).increment();
+        }
+        return waitNanos;
+    }
+
+    //가득 찬 채로 idleSeconds 이상 쓰이지 않은 버킷 제거 (순회 중에도 다른 요청을 막지 않음)
+    @Scheduled(fixedDelayString = "${rate-limit.eviction-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        long idleNanos = TimeUnit.SECONDS.toNanos(idleSeconds);
+        buckets.values().removeIf(bucket -> bucket.isIdle(now, idleNanos));
+    }
+
+    private TokenBucket newBucket(RouteGroup group, long now) {
+        return switch (group) {
+            case AUTH -> new TokenBucket(authCapacity, authRefillPerSecond, now);
+            case BROWSE -> new TokenBucket(browseCapacity, browseRefillPerSecond, now);
+            case CHECKOUT -> new TokenBucket(checkoutCapacity, checkoutRefillPerSecond, now);
+        };
+    }
+
+    private double bucketCount() {
+        return buckets.size();
+    }
+}
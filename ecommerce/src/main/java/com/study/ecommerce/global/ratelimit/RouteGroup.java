@@ -0,0 +1,33 @@
+package com.study.ecommerce.global.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * 요청 제한 그룹 (그룹마다 한도가 다르다)
+ */
+public enum RouteGroup {
+    //로그인/회원가입 -> 무차별 대입 방지
+    AUTH,
+    //상품/카테고리 조회
+    BROWSE,
+    //장바구니/주문/결제
+    CHECKOUT;
+
+    /**
+     * @return 제한 대상이 아니면 null
+     */
+    public static RouteGroup resolve(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        if (uri.startsWith("/api/v1/auth/")) {
+            return AUTH;
+        }
+        if (uri.startsWith("/api/v1/orders") || uri.startsWith("/api/v1/carts") || uri.startsWith("/api/v1/payments")) {
+            return CHECKOUT;
+        }
+        if ("GET".equals(request.getMethod())
+                && (uri.startsWith("/api/v1/products") || uri.startsWith("/api/v1/categories"))) {
+            return BROWSE;
+        }
+        return null;
+    }
+}
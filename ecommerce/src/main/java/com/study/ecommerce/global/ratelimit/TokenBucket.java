@@ -0,0 +1,45 @@
+package com.study.ecommerce.global.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 락 없는 토큰 버킷 (GCRA 방식)
+ * 토큰 수와 마지막 충전 시각 대신 "버킷이 가득 차는 시각(TAT)" 하나만 AtomicLong 으로 관리하고 CAS 로 갱신한다
+ * 용량 capacity, 초당 refillPerSecond 개 충전하는 토큰 버킷과 같은 결과를 낸다
+ */
+class TokenBucket {
+    //토큰 하나가 충전되는 데 걸리는 시간
+    private final long emissionIntervalNanos;
+    //버킷이 비어 있을 때까지 허용하는 TAT 의 최대 앞당김 (capacity 개 만큼)
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrivalTime;
+
+    TokenBucket(long capacity, double refillPerSecond, long nowNanos) {
+        this.emissionIntervalNanos = (long) (1_000_000_000L / refillPerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * capacity;
+        this.theoreticalArrivalTime = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * 토큰 하나 사용
+     * @return 허용이면 0, 거절이면 다음 토큰까지 남은 시간(ns)
+     */
+    long tryConsume(long nowNanos) {
+        while (true) {
+            long tat = theoreticalArrivalTime.get();
+            long newTat = Math.max(tat, nowNanos) + emissionIntervalNanos;
+            long waitNanos = newTat - nowNanos - burstToleranceNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrivalTime.compareAndSet(tat, newTat)) {
+                return 0;
+            }
+        }
+    }
+
+    //TAT 가 지났으면 버킷이 가득 찬 상태 -> 지워도 동작이 달라지지 않는다
+    boolean isIdle(long nowNanos, long idleNanos) {
+        return theoreticalArrivalTime.get() + idleNanos <= nowNanos;
+    }
+}
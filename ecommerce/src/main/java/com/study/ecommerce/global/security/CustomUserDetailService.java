@@ -5,7 +5,6 @@ import com.study.ecommerce.domain.member.repository.MemberRepository;
 import io.swagger.v3.oas.models.info.Contact;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -25,7 +24,8 @@ public class CustomUserDetailService implements UserDetailsService {
         Member member = memberRepository.findByEmail(username)
                 .orElseThrow(() -> new UsernameNotFoundException("사용자를 찾을 수 없습니다: " + username));
 
-        return new User(
+        return new MemberPrincipal(
+                member.getId(),
                 member.getEmail(),
                 member.getPassword(),
                 //왜 이렇게 셋팅을 하냐
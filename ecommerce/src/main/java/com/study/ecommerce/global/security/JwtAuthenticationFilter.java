@@ -20,10 +20,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     FilterChain filterChain) throws ServletException, IOException {
         String token = jwtTokenProvider.resolveToken(request);
 
-        if (token != null && jwtTokenProvider.validateToken(token)) {
-            Authentication authentication = jwtTokenProvider.getAuthentication(token);
-            //전체적으로 security를 관리
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+        if (token != null) {
+            //검증과 인증 객체 생성을 한 번에 -> 토큰 파싱은 최대 한 번
+            Authentication authentication = jwtTokenProvider.authenticate(token);
+            if (authentication != null) {
+                //전체적으로 security를 관리
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            }
         }
 
         filterChain.doFilter(request, response);
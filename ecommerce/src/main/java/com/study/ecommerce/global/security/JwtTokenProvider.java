@@ -1,7 +1,9 @@
 package com.study.ecommerce.global.security;
 
+import com.study.ecommerce.global.security.VerifiedTokenCache.VerifiedToken;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -12,6 +14,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Component;
@@ -31,17 +35,29 @@ public class JwtTokenProvider {
     @Value("${jwt.token-validity-in-milliseconds}")
     private long tokenValidityInMilliSeconds;
 
+    //true 면 토큰 클레임만으로 인증 객체를 만든다 (요청마다 회원 조회 없음)
+    @Value("${jwt.stateless-authentication:true}")
+    private boolean statelessAuthentication;
+
     private Key key;
 
+    //parser 는 불변이라 한 번만 만들어서 재사용
+    private JwtParser parser;
+
     private final UserDetailsService userDetailsService;
+    private final VerifiedTokenCache verifiedTokenCache;
 
     @PostConstruct
     protected void init() {
         this.key = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
     }
 
-    public String createToken(String username, List<String> roles) {
+    public String createToken(String username, Long memberId, List<String> roles) {
         Claims claims = Jwts.claims().setSubject(username);
+        claims.put("memberId", memberId);
         claims.put("roles", roles);
 
         Date now = new Date();
@@ -64,29 +80,66 @@ public class JwtTokenProvider {
     }
 
     public boolean validateToken(String token) {
+        return verify(token) != null;
+    }
+
+    /**
+     * 토큰 검증과 인증 객체 생성을 한 번에 처리 (서명 검증은 최대 한 번, 캐시 적중 시 0번)
+     * @return 유효하지 않은 토큰이면 null
+     */
+    public Authentication authenticate(String token) {
+        VerifiedToken verified = verify(token);
+        if (verified == null) {
+            return null;
+        }
+
+        //memberId 클레임이 없는 (이전에 발급된) 토큰은 회원 조회로 principal 구성
+        if (!statelessAuthentication || verified.memberId() == null) {
+            UserDetails userDetails = userDetailsService.loadUserByUsername(verified.subject());
+            return new UsernamePasswordAuthenticationToken(userDetails, "", userDetails.getAuthorities());
+        }
+
+        //roles 클레임으로 권한 구성 -> CustomUserDetailService 와 같은 ROLE_ 접두사
+        List<GrantedAuthority> authorities = verified.roles().stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority("ROLE_" + role))
+                .toList();
+        UserDetails principal = new MemberPrincipal(verified.memberId(), verified.subject(), "", authorities);
+        return new UsernamePasswordAuthenticationToken(principal, "", authorities);
+    }
+
+    //캐시에 없으면 파싱(서명/만료 검증) 한 번 후 캐시에 저장
+    private VerifiedToken verify(String token) {
+        VerifiedToken cached = verifiedTokenCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+
         try {
-            Jws<Claims> claims = Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token);
-            return !claims.getBody().getExpiration().before(new Date());
-        } catch (Exception e) {
-            return false;
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            Date expiration = claims.getExpiration();
+            if (expiration == null || expiration.before(new Date())) {
+                return null;
+            }
+
+            VerifiedToken verified = new VerifiedToken(claims.getSubject(), toMemberId(claims.get("memberId")),
+                    toRoles(claims.get("roles")), expiration.getTime());
+            verifiedTokenCache.put(token, verified);
+            return verified;
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
         }
     }
 
-    public Authentication getAuthentication(String token) {
-        UserDetails userDetails = userDetailsService.loadUserByUsername(getUsername(token));
-        return new UsernamePasswordAuthenticationToken(userDetails, "", userDetails.getAuthorities());
+    //JSON 숫자는 크기에 따라 Integer/Long 으로 파싱된다
+    private Long toMemberId(Object memberId) {
+        return memberId instanceof Number number ? number.longValue() : null;
     }
 
-    public String getUsername(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+    private List<String> toRoles(Object roles) {
+        if (!(roles instanceof List<?> values)) {
+            return List.of();
+        }
+        return values.stream().map(String::valueOf).toList();
     }
 
 }
@@ -0,0 +1,24 @@
+package com.study.ecommerce.global.security;
+
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * 인증된 회원 (username = 이메일)
+ * 회원 id 를 함께 들고 있어서 서비스가 이메일로 회원을 다시 조회하지 않아도 된다
+ */
+@Getter
+public class MemberPrincipal extends User {
+    private static final long serialVersionUID = 1L;
+
+    private final Long memberId;
+
+    public MemberPrincipal(Long memberId, String email, String password,
+                           Collection<? extends GrantedAuthority> authorities) {
+        super(email, password, authorities);
+        this.memberId = memberId;
+    }
+}
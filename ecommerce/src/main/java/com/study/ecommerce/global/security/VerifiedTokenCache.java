@@ -0,0 +1,111 @@
+package com.study.ecommerce.global.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 서명 검증을 통과한 토큰의 클레임 캐시
+ * 같은 토큰이 다시 들어오면 Base64/JSON 파싱과 HMAC 검증을 건너뛴다
+ * 키는 토큰 원문 대신 SHA-256 다이제스트를 사용 (메모리에 토큰을 그대로 보관하지 않음)
+ * 요청마다 지나가는 경로라 전역 락 없이 ConcurrentHashMap 에서 바로 찾는다
+ */
+@Component
+public class VerifiedTokenCache {
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final int EVICTION_SAMPLE_SIZE = 8;
+
+    //MessageDigest 는 스레드 안전하지 않으므로 스레드마다 하나씩 재사용
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다.", e);
+        }
+    });
+
+    @Value("${jwt.verified-token-cache-size:10000}")
+    private int cacheSize;
+
+    private final ConcurrentHashMap<String, VerifiedToken> cache = new ConcurrentHashMap<>();
+
+    private volatile long nextSweepAt = System.nanoTime();
+
+    /**
+     * @return 검증된 적 있고 아직 만료되지 않은 토큰의 클레임, 없으면 null
+     */
+    public VerifiedToken get(String token) {
+        String digest = digest(token);
+        VerifiedToken verified = cache.get(digest);
+        if (verified != null && verified.isExpired(System.currentTimeMillis())) {
+            cache.remove(digest, verified);
+            return null;
+        }
+        return verified;
+    }
+
+    /**
+     * 크기 제한에 닿으면 만료된 토큰부터 정리하고, 그래도 가득 차 있으면 표본 중 만료가 가장 이른(가장 먼저 발급된) 토큰을 버린다
+     * (LRU 순서 관리를 위한 전역 락 대신 근사 제거, 동시에 들어온 put 수만큼 잠깐 넘칠 수 있다)
+     */
+    public void put(String token, VerifiedToken verified) {
+        String digest = digest(token);
+        if (cache.size() >= cacheSize && !cache.containsKey(digest)) {
+            sweepExpired();
+            if (cache.size() >= cacheSize) {
+                evictSampled();
+            }
+        }
+        cache.put(digest, verified);
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    //가득 찬 상태에서 put 이 몰려도 전체 순회는 1초에 한 번만
+    private void sweepExpired() {
+        long now = System.nanoTime();
+        if (now - nextSweepAt < 0) {
+            return;
+        }
+        nextSweepAt = now + SWEEP_INTERVAL_NANOS;
+        long nowMs = System.currentTimeMillis();
+        cache.values().removeIf(verified -> verified.isExpired(nowMs));
+    }
+
+    //키가 다이제스트라 해시 순서가 고르게 섞여 있으므로 앞에서부터 몇 개만 보면 무작위 표본이 된다
+    private void evictSampled() {
+        Map.Entry<String, VerifiedToken> victim = null;
+        int sampled = 0;
+        for (Map.Entry<String, VerifiedToken> entry : cache.entrySet()) {
+            if (victim == null || entry.getValue().expiresAtMs() < victim.getValue().expiresAtMs()) {
+                victim = entry;
+            }
+            if (++sampled >= EVICTION_SAMPLE_SIZE) {
+                break;
+            }
+        }
+        if (victim != null) {
+            cache.remove(victim.getKey(), victim.getValue());
+        }
+    }
+
+    private String digest(String token) {
+        return Base64.getEncoder().encodeToString(SHA256.get().digest(token.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    public record VerifiedToken(String subject, Long memberId, List<String> roles, long expiresAtMs) {
+        boolean isExpired(long nowMs) {
+            return expiresAtMs <= nowMs;
+        }
+    }
+}
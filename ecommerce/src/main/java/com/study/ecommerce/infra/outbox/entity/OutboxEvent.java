@@ -0,0 +1,60 @@
+package com.study.ecommerce.infra.outbox.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 트랜잭셔널 아웃박스
+ * 주문/결제 상태 변경과 같은 트랜잭션에서 저장되고, 커밋 이후 OutboxRelay 가 꺼내서 전달한다
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_seq_generator")
+    @SequenceGenerator(name = "outbox_event_seq_generator", sequenceName = "outbox_event_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AggregateType aggregateType;
+
+    @Column(nullable = false)
+    private Long aggregateId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private EventType eventType;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    //null 이면 아직 전달되지 않은 이벤트
+    private LocalDateTime publishedAt;
+
+    @Builder
+    public OutboxEvent(AggregateType aggregateType, Long aggregateId, EventType eventType, String payload) {
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.eventType = eventType;
+        this.payload = payload;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public enum AggregateType {
+        ORDER, PAYMENT
+    }
+
+    public enum EventType {
+        ORDER_PAID, ORDER_CANCELED, PAYMENT_COMPLETED, PAYMENT_CANCELED
+    }
+}
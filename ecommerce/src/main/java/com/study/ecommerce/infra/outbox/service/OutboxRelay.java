@@ -0,0 +1,99 @@
+package com.study.ecommerce.infra.outbox.service;
+
+import com.study.ecommerce.infra.outbox.entity.OutboxEvent;
+import com.study.ecommerce.infra.outbox.repository.OutboxEventRepository;
+import com.study.ecommerce.infra.outbox.sink.OutboxEventSink;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 아웃박스 relay
+ * 전달 대기 이벤트를 배치로 가져와 sink 로 전달하고, 성공한 이벤트만 published 처리한다
+ * 같은 aggregate 의 이벤트는 순서대로, 서로 다른 aggregate 는 가상 스레드에서 동시에 전달
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxRelay {
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<OutboxEventSink> sinks;
+
+    @Value("${outbox.relay.batch-size:200}")
+    private int batchSize;
+
+    @Value("${outbox.relay.retention-hours:72}")
+    private long retentionHours;
+
+    private SimpleAsyncTaskExecutor relayExecutor;
+
+    @PostConstruct
+    void initExecutor() {
+        this.relayExecutor = new SimpleAsyncTaskExecutor("outbox-relay-");
+        this.relayExecutor.setVirtualThreads(true);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:1000}")
+    @Transactional
+    public void relay() {
+        List<OutboxEvent> events = outboxEventRepository.findPendingForUpdate(PageRequest.of(0, batchSize));
+        if (events.isEmpty()) {
+            return;
+        }
+
+        //aggregate 단위로 묶어서 순서 보장
+        Map<String, List<OutboxEvent>> byAggregate = new LinkedHashMap<>();
+        for (OutboxEvent event : events) {
+            byAggregate.computeIfAbsent(event.getAggregateType() + ":" + event.getAggregateId(),
+                    key -> new ArrayList<>()).add(event);
+        }
+
+        ConcurrentLinkedQueue<Long> publishedIds = new ConcurrentLinkedQueue<>();
+        List<CompletableFuture<Void>> futures = new ArrayList<>(byAggregate.size());
+        for (List<OutboxEvent> aggregateEvents : byAggregate.values()) {
+            futures.add(CompletableFuture.runAsync(
+                    () -> publishInOrder(aggregateEvents, publishedIds), relayExecutor));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        if (!publishedIds.isEmpty()) {
+            outboxEventRepository.markPublished(publishedIds, LocalDateTime.now());
+        }
+    }
+
+    //앞 이벤트가 실패하면 같은 aggregate 의 뒤 이벤트는 다음 주기로 미룬다
+    private void publishInOrder(List<OutboxEvent> events, ConcurrentLinkedQueue<Long> publishedIds) {
+        for (OutboxEvent event : events) {
+            try {
+                for (OutboxEventSink sink : sinks) {
+                    sink.publish(event);
+                }
+                publishedIds.add(event.getId());
+            } catch (RuntimeException e) {
+                log.warn("아웃박스 이벤트 전달 실패 id={} type={}", event.getId(), event.getEventType(), e);
+                return;
+            }
+        }
+    }
+
+    //전달 완료 후 보관 기간이 지난 이벤트 정리
+    @Scheduled(fixedDelayString = "${outbox.relay.cleanup-interval-ms:3600000}")
+    @Transactional
+    public void cleanupPublished() {
+        outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minusHours(retentionHours));
+    }
+}
@@ -0,0 +1,41 @@
+package com.study.ecommerce.infra.outbox.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.ecommerce.infra.outbox.entity.OutboxEvent;
+import com.study.ecommerce.infra.outbox.entity.OutboxEvent.AggregateType;
+import com.study.ecommerce.infra.outbox.entity.OutboxEvent.EventType;
+import com.study.ecommerce.infra.outbox.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 상태 변경과 같은 트랜잭션에 아웃박스 이벤트 저장
+     * MANDATORY -> 호출하는 쪽 트랜잭션이 없으면 예외 (상태 변경과 분리되어 저장되는 일을 막음)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(AggregateType aggregateType, Long aggregateId, EventType eventType, Object payload) {
+        outboxEventRepository.save(OutboxEvent.builder()
+                .aggregateType(aggregateType)
+                .aggregateId(aggregateId)
+                .eventType(eventType)
+                .payload(toJson(payload))
+                .build());
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("아웃박스 payload 직렬화 실패", e);
+        }
+    }
+}
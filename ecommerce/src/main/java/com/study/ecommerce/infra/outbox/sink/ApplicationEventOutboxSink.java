@@ -0,0 +1,28 @@
+package com.study.ecommerce.infra.outbox.sink;
+
+import com.study.ecommerce.infra.outbox.entity.OutboxEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * 기본 인프로세스 sink
+ * OutboxMessage 를 스프링 이벤트로 발행 -> 캐시 무효화 등 같은 프로세스 안의 @EventListener 가 구독
+ */
+@Component
+@RequiredArgsConstructor
+public class ApplicationEventOutboxSink implements OutboxEventSink {
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public void publish(OutboxEvent event) {
+        eventPublisher.publishEvent(new OutboxMessage(
+                event.getId(),
+                event.getAggregateType(),
+                event.getAggregateId(),
+                event.getEventType(),
+                event.getPayload(),
+                event.getCreatedAt()
+        ));
+    }
+}
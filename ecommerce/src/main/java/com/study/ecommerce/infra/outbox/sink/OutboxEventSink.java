@@ -0,0 +1,12 @@
+package com.study.ecommerce.infra.outbox.sink;
+
+import com.study.ecommerce.infra.outbox.entity.OutboxEvent;
+
+/**
+ * 아웃박스 이벤트 전달 대상
+ * 메시지 브로커 연동 시 구현체만 추가하면 된다 (테스트에서는 인메모리 구현으로 대체)
+ * 예외를 던지면 해당 이벤트는 전달 실패로 남고 다음 relay 주기에 재시도된다
+ */
+public interface OutboxEventSink {
+    void publish(OutboxEvent event);
+}
@@ -0,0 +1,16 @@
+package com.study.ecommerce.infra.outbox.sink;
+
+import com.study.ecommerce.infra.outbox.entity.OutboxEvent.AggregateType;
+import com.study.ecommerce.infra.outbox.entity.OutboxEvent.EventType;
+
+import java.time.LocalDateTime;
+
+public record OutboxMessage(
+        Long id,
+        AggregateType aggregateType,
+        Long aggregateId,
+        EventType eventType,
+        String payload,
+        LocalDateTime createdAt
+) {
+}
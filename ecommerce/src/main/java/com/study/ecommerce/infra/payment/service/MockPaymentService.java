@@ -2,7 +2,11 @@ package com.study.ecommerce.infra.payment.service;
 
 import com.study.ecommerce.domain.order.entity.Order;
 import com.study.ecommerce.domain.payment.entity.Payment;
+import com.study.ecommerce.domain.payment.event.PaymentStatusChangedPayload;
 import com.study.ecommerce.domain.payment.repository.PaymentRepository;
+import com.study.ecommerce.infra.outbox.entity.OutboxEvent.AggregateType;
+import com.study.ecommerce.infra.outbox.entity.OutboxEvent.EventType;
+import com.study.ecommerce.infra.outbox.service.OutboxService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -17,6 +21,7 @@ import static com.study.ecommerce.domain.payment.entity.Payment.PaymentStatus.PE
 public class MockPaymentService {
 
     private final PaymentRepository paymentRepository;
+    private final OutboxService outboxService;
 
     @Transactional
     public Payment processPayment(Order order, Payment.PaymentMethod paymentMethod){
@@ -35,6 +40,7 @@ public class MockPaymentService {
         simulatePaymentGatewayDelay();
 
         payment.complete();
+        recordOutbox(payment, EventType.PAYMENT_COMPLETED);
         return payment;
     }
 
@@ -42,9 +48,22 @@ public class MockPaymentService {
     public Payment cancelPayment(Payment payment){
         simulatePaymentGatewayDelay();
         payment.updateStatus(CANCELED);
+        recordOutbox(payment, EventType.PAYMENT_CANCELED);
         return payment;
     }
 
+    //결제 상태 변경과 같은 트랜잭션에 아웃박스 이벤트 기록
+    private void recordOutbox(Payment payment, EventType eventType) {
+        outboxService.record(AggregateType.PAYMENT, payment.getId(), eventType,
+                new PaymentStatusChangedPayload(
+                        payment.getId(),
+                        payment.getOrderId(),
+                        payment.getPaymentMethod(),
+                        payment.getStatus(),
+                        payment.getAmount()
+                ));
+    }
+
     private void simulatePaymentGatewayDelay() {
         try{
             Thread.sleep(300); //300ms지연
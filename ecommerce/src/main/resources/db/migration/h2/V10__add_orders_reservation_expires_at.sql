@@ -0,0 +1,5 @@
+-- 미결제 주문 재고 점유 만료 시각 (결제 대기 주문만 값이 있음)
+ALTER TABLE orders ADD COLUMN reservation_expires_at TIMESTAMP;
+
+-- 만료 sweeper 용 인덱스 -> CREATED 주문 중 마감이 지난 것만 범위 조회
+CREATE INDEX idx_orders_status_reservation_expires ON orders(status, reservation_expires_at);
@@ -0,0 +1,17 @@
+-- 카테고리 materialized path (/루트id/.../자기id/) -> 조상/하위 트리 판별을 LIKE 'prefix%' 한 번으로
+ALTER TABLE category ADD COLUMN path VARCHAR(255);
+
+-- 기존 카테고리 경로 채우기 (루트부터 재귀)
+MERGE INTO category c
+USING (
+    WITH RECURSIVE tree(id, path) AS (
+        SELECT id, CAST(CONCAT('/', id, '/') AS VARCHAR(255)) FROM category WHERE parent_id IS NULL
+        UNION ALL
+        SELECT child.id, CAST(CONCAT(tree.path, child.id, '/') AS VARCHAR(255))
+        FROM category child JOIN tree ON child.parent_id = tree.id
+    )
+    SELECT id, path FROM tree
+) t ON c.id = t.id
+WHEN MATCHED THEN UPDATE SET c.path = t.path;
+
+CREATE INDEX idx_category_path ON category(path);
@@ -0,0 +1,14 @@
+-- 주문 생성 멱등성 키
+CREATE TABLE order_idempotency_key (
+    idempotency_key VARCHAR(100) PRIMARY KEY,
+    member_id BIGINT NOT NULL,
+    order_id BIGINT NOT NULL,
+    order_status VARCHAR(20),
+    total_amount BIGINT,
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP
+);
+
+-- TTL sweeper 용 인덱스
+CREATE INDEX idx_order_idempotency_key_expires ON order_idempotency_key(expires_at);
@@ -0,0 +1,42 @@
+-- IDENTITY 대신 시퀀스로 ID 생성 (JDBC 배치 INSERT 사용을 위함) - MySQL 버전
+-- MySQL 은 시퀀스가 없어서 Hibernate 가 next_val 컬럼 하나짜리 테이블로 시퀀스를 흉내낸다
+-- allocationSize(50) 단위로 값을 가져가며 (v - 49 ~ v 사용), 기존 데이터와 겹치지 않도록 테이블마다 MAX(id) + 50 부터 시작
+CREATE TABLE member_seq (
+    next_val BIGINT NOT NULL
+);
+INSERT INTO member_seq (next_val) SELECT COALESCE(MAX(id), 0) + 50 FROM member;
+
+CREATE TABLE category_seq (
+    next_val BIGINT NOT NULL
+);
+INSERT INTO category_seq (next_val) SELECT COALESCE(MAX(id), 0) + 50 FROM category;
+
+CREATE TABLE product_seq (
+    next_val BIGINT NOT NULL
+);
+INSERT INTO product_seq (next_val) SELECT COALESCE(MAX(id), 0) + 50 FROM product;
+
+CREATE TABLE cart_seq (
+    next_val BIGINT NOT NULL
+);
+INSERT INTO cart_seq (next_val) SELECT COALESCE(MAX(id), 0) + 50 FROM cart;
+
+CREATE TABLE cart_item_seq (
+    next_val BIGINT NOT NULL
+);
+INSERT INTO cart_item_seq (next_val) SELECT COALESCE(MAX(id), 0) + 50 FROM cart_item;
+
+CREATE TABLE orders_seq (
+    next_val BIGINT NOT NULL
+);
+INSERT INTO orders_seq (next_val) SELECT COALESCE(MAX(id), 0) + 50 FROM orders;
+
+CREATE TABLE order_item_seq (
+    next_val BIGINT NOT NULL
+);
+INSERT INTO order_item_seq (next_val) SELECT COALESCE(MAX(id), 0) + 50 FROM order_item;
+
+CREATE TABLE payment_seq (
+    next_val BIGINT NOT NULL
+);
+INSERT INTO payment_seq (next_val) SELECT COALESCE(MAX(id), 0) + 50 FROM payment;
@@ -0,0 +1,18 @@
+-- 트랜잭셔널 아웃박스 (주문/결제 상태 변경 이벤트) (MySQL 버전)
+CREATE TABLE outbox_event (
+    id BIGINT PRIMARY KEY,
+    aggregate_type VARCHAR(20) NOT NULL,
+    aggregate_id BIGINT NOT NULL,
+    event_type VARCHAR(30) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    published_at TIMESTAMP
+);
+
+CREATE TABLE outbox_event_seq (
+    next_val BIGINT NOT NULL
+);
+INSERT INTO outbox_event_seq (next_val) VALUES (1);
+
+-- relay 가 전달 대기 이벤트를 id 순으로 조회
+CREATE INDEX idx_outbox_event_published ON outbox_event(published_at, id);
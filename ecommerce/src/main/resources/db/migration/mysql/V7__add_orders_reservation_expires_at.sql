@@ -0,0 +1,5 @@
+-- 미결제 주문 재고 점유 만료 시각 (MySQL 버전)
+ALTER TABLE orders ADD COLUMN reservation_expires_at TIMESTAMP NULL;
+
+-- 만료 sweeper 용 인덱스
+CREATE INDEX idx_orders_status_reservation_expires ON orders(status, reservation_expires_at);
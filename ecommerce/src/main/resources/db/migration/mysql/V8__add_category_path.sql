@@ -0,0 +1,17 @@
+-- 카테고리 materialized path (MySQL 버전)
+ALTER TABLE category ADD COLUMN path VARCHAR(255);
+
+-- 기존 카테고리 경로 채우기 (루트부터 재귀)
+UPDATE category c
+JOIN (
+    WITH RECURSIVE tree (id, path) AS (
+        SELECT id, CAST(CONCAT('/', id, '/') AS CHAR(255)) FROM category WHERE parent_id IS NULL
+        UNION ALL
+        SELECT child.id, CAST(CONCAT(tree.path, child.id, '/') AS CHAR(255))
+        FROM category child JOIN tree ON child.parent_id = tree.id
+    )
+    SELECT id, path FROM tree
+) t ON c.id = t.id
+SET c.path = t.path;
+
+CREATE INDEX idx_category_path ON category(path);
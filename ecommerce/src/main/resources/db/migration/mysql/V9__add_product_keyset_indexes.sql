@@ -0,0 +1,4 @@
+-- 상품 목록/검색 커서(keyset) 조회용 복합 인덱스 (MySQL 버전)
+-- 정렬 컬럼 + id 순서로 읽으면 OFFSET 없이 마지막 행 다음부터 바로 찾는다
+CREATE INDEX idx_product_status_price ON product(status, price, id);
+CREATE INDEX idx_product_status_created_at ON product(status, created_at, id);
@@ -0,0 +1,20 @@
+-- IDENTITY 대신 시퀀스로 ID 생성 (JDBC 배치 INSERT 사용을 위함) - PostgreSQL 버전
+-- allocationSize(50) 와 INCREMENT BY 를 맞춰야 한다
+-- pooled 옵티마이저는 시퀀스 값 v 를 받아 (v - 49 ~ v) 를 쓰므로, 기존 데이터와 겹치지 않도록 테이블마다 MAX(id) + 50 부터 시작
+CREATE SEQUENCE member_seq INCREMENT BY 50;
+CREATE SEQUENCE category_seq INCREMENT BY 50;
+CREATE SEQUENCE product_seq INCREMENT BY 50;
+CREATE SEQUENCE cart_seq INCREMENT BY 50;
+CREATE SEQUENCE cart_item_seq INCREMENT BY 50;
+CREATE SEQUENCE orders_seq INCREMENT BY 50;
+CREATE SEQUENCE order_item_seq INCREMENT BY 50;
+CREATE SEQUENCE payment_seq INCREMENT BY 50;
+
+SELECT setval('member_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM member), false);
+SELECT setval('category_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM category), false);
+SELECT setval('product_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM product), false);
+SELECT setval('cart_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM cart), false);
+SELECT setval('cart_item_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM cart_item), false);
+SELECT setval('orders_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM orders), false);
+SELECT setval('order_item_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM order_item), false);
+SELECT setval('payment_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM payment), false);
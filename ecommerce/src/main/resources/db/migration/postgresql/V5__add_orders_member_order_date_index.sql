@@ -0,0 +1,2 @@
+-- 커서 기반 주문 내역 조회용 복합 인덱스 (PostgreSQL 버전)
+CREATE INDEX idx_orders_member_order_date ON orders(member_id, order_date, id);
@@ -0,0 +1,15 @@
+-- 트랜잭셔널 아웃박스 (주문/결제 상태 변경 이벤트) (PostgreSQL 버전)
+CREATE TABLE outbox_event (
+    id BIGINT PRIMARY KEY,
+    aggregate_type VARCHAR(20) NOT NULL,
+    aggregate_id BIGINT NOT NULL,
+    event_type VARCHAR(30) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    published_at TIMESTAMP
+);
+
+CREATE SEQUENCE outbox_event_seq START WITH 1 INCREMENT BY 50;
+
+-- relay 가 전달 대기 이벤트를 id 순으로 조회
+CREATE INDEX idx_outbox_event_published ON outbox_event(published_at, id);
@@ -0,0 +1,14 @@
+-- 카테고리 materialized path (PostgreSQL 버전)
+ALTER TABLE category ADD COLUMN path VARCHAR(255);
+
+-- 기존 카테고리 경로 채우기 (루트부터 재귀)
+WITH RECURSIVE tree (id, path) AS (
+    SELECT id, CAST('/' || id || '/' AS VARCHAR(255)) FROM category WHERE parent_id IS NULL
+    UNION ALL
+    SELECT child.id, CAST(tree.path || child.id || '/' AS VARCHAR(255))
+    FROM category child JOIN tree ON child.parent_id = tree.id
+)
+UPDATE category c SET path = tree.path FROM tree WHERE c.id = tree.id;
+
+-- LIKE 'prefix%' 가 인덱스를 타도록 pattern_ops 사용 (기본 collation 이 C 가 아닌 경우)
+CREATE INDEX idx_category_path ON category(path varchar_pattern_ops);
@@ -0,0 +1,69 @@
+package com.study.ecommerce.domain.auth.service;
+
+import com.study.ecommerce.domain.auth.dto.req.LoginRequest;
+import com.study.ecommerce.domain.auth.dto.req.SignUpRequest;
+import com.study.ecommerce.domain.auth.dto.resp.TokenResponse;
+import com.study.ecommerce.domain.member.entity.Member;
+import com.study.ecommerce.domain.member.repository.MemberRepository;
+import com.study.ecommerce.global.error.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AuthServiceTest {
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Test
+    void signUpThenLogin() {
+        String email = UUID.randomUUID() + "@example.com";
+        authService.signUp(new SignUpRequest(email, "password1", "가입 고객", null));
+
+        TokenResponse token = authService.login(new LoginRequest(email, "password1"));
+
+        assertThat(token.email()).isEqualTo(email);
+        assertThatThrownBy(() -> authService.login(new LoginRequest(email, "wrong-password")))
+                .isInstanceOf(BadCredentialsException.class);
+    }
+
+    @Test
+    void duplicateEmailIsRejected() {
+        String email = UUID.randomUUID() + "@example.com";
+        authService.signUp(new SignUpRequest(email, "password1", "가입 고객", null));
+
+        assertThatThrownBy(() -> authService.signUp(new SignUpRequest(email, "password2", "가입 고객", null)))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    @Test
+    void loginRehashesWeakerHash() {
+        String email = UUID.randomUUID() + "@example.com";
+        String weakHash = new BCryptPasswordEncoder(4).encode("password1");
+        Long memberId = memberRepository.save(Member.builder()
+                .email(email)
+                .password(weakHash)
+                .name("재해시 고객")
+                .role(Member.Role.CUSTOMER)
+                .build()).getId();
+
+        authService.login(new LoginRequest(email, "password1"));
+
+        String rehashed = memberRepository.findById(memberId).orElseThrow().getPassword();
+        assertThat(rehashed).isNotEqualTo(weakHash).startsWith("$2a$10$");
+        authService.login(new LoginRequest(email, "password1"));
+    }
+}
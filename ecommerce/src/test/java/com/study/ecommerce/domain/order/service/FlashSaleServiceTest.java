@@ -0,0 +1,118 @@
+package com.study.ecommerce.domain.order.service;
+
+import com.study.ecommerce.domain.order.dto.OrderCreateRequest;
+import com.study.ecommerce.domain.order.dto.OrderCreateRequest.OrderItemRequest;
+import com.study.ecommerce.domain.order.dto.OrderResponse;
+import com.study.ecommerce.domain.product.repository.ProductRepository;
+import com.study.ecommerce.global.error.exception.BusinessException;
+import com.study.ecommerce.support.TestFixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class FlashSaleServiceTest {
+
+    @Autowired
+    private FlashSaleService flashSaleService;
+
+    @Autowired
+    private OrderIdempotencyService orderIdempotencyService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    private final List<Long> enabledProductIds = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        enabledProductIds.forEach(flashSaleService::disable);
+        enabledProductIds.clear();
+    }
+
+    @Test
+    void restoredStockReopensSoldOutLane() throws Exception {
+        Long productId = fixtures.createProduct(1);
+        Long memberId = fixtures.createMember().getId();
+        enable(productId);
+
+        OrderResponse sold = orderIdempotencyService.createOrder(orderOf(productId), memberId, null);
+        assertThatThrownBy(() -> orderIdempotencyService.createOrder(orderOf(productId), memberId, null))
+                .isInstanceOf(BusinessException.class);
+
+        //취소로 재고가 원복되면 대기열 추정치도 DB 재고로 다시 맞춰진다
+        orderService.cancelOrder(sold.id(), memberId);
+
+        OrderResponse reopened = awaitPurchase(productId, memberId);
+        assertThat(reopened.id()).isNotEqualTo(sold.id());
+        assertThat(productRepository.findById(productId).orElseThrow().getStockQuantity()).isZero();
+    }
+
+    @Test
+    void sameIdempotencyKeyReturnsSameFlashSaleOrder() {
+        Long productId = fixtures.createProduct(10);
+        Long memberId = fixtures.createMember().getId();
+        enable(productId);
+        String key = UUID.randomUUID().toString();
+
+        OrderResponse first = orderIdempotencyService.createOrder(orderOf(productId), memberId, key);
+        OrderResponse retry = orderIdempotencyService.createOrder(orderOf(productId), memberId, key);
+
+        assertThat(retry.id()).isEqualTo(first.id());
+        assertThat(productRepository.findById(productId).orElseThrow().getStockQuantity()).isEqualTo(9);
+    }
+
+    @Test
+    void flashSaleKeyCannotBeReusedByAnotherMember() {
+        Long productId = fixtures.createProduct(10);
+        Long owner = fixtures.createMember().getId();
+        Long other = fixtures.createMember().getId();
+        enable(productId);
+        String key = UUID.randomUUID().toString();
+
+        orderIdempotencyService.createOrder(orderOf(productId), owner, key);
+
+        assertThatThrownBy(() -> orderIdempotencyService.createOrder(orderOf(productId), other, key))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    //writer 는 알림을 받은 뒤 다음 루프(최대 1초)에서 재고를 다시 읽는다
+    private OrderResponse awaitPurchase(Long productId, Long memberId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (true) {
+            try {
+                return orderIdempotencyService.createOrder(orderOf(productId), memberId, null);
+            } catch (BusinessException e) {
+                if (System.currentTimeMillis() > deadline) {
+                    throw e;
+                }
+                Thread.sleep(100);
+            }
+        }
+    }
+
+    private void enable(Long productId) {
+        flashSaleService.enable(productId);
+        enabledProductIds.add(productId);
+    }
+
+    private OrderCreateRequest orderOf(Long productId) {
+        return new OrderCreateRequest(null, List.of(new OrderItemRequest(productId, 1)), false, null);
+    }
+}
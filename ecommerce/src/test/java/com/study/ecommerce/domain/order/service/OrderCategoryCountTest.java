@@ -0,0 +1,102 @@
+package com.study.ecommerce.domain.order.service;
+
+import com.study.ecommerce.domain.category.service.CategoryProductCounter;
+import com.study.ecommerce.domain.order.dto.OrderCreateRequest;
+import com.study.ecommerce.domain.order.dto.OrderCreateRequest.OrderItemRequest;
+import com.study.ecommerce.domain.product.entity.Product;
+import com.study.ecommerce.domain.product.entity.Product.ProductStatus;
+import com.study.ecommerce.domain.product.repository.ProductRepository;
+import com.study.ecommerce.global.error.exception.BusinessException;
+import com.study.ecommerce.support.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 조건부 재고 차감/재고 일괄 원복(벌크 UPDATE)이 카테고리 상품 수에 반영되는지 검증
+ * 벌크 UPDATE 는 엔티티 리스너를 거치지 않으므로 서비스에서 직접 기록한 전이만 반영된다
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderCategoryCountTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CategoryProductCounter categoryProductCounter;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void soldOutByOrderAndRevivedByExpiryUpdatesCount() {
+        Long categoryId = anyCategoryId();
+        Long productId = createProduct(categoryId, ProductStatus.ACTIVE);
+        Long memberId = fixtures.createMember().getId();
+        long initial = count(categoryId);
+
+        Long orderId = orderService.createOrder(orderOf(productId), memberId, null).id();
+        assertThat(productRepository.findById(productId).orElseThrow().getStatus()).isEqualTo(ProductStatus.SOLD_OUT);
+        assertThat(count(categoryId)).isEqualTo(initial - 1);
+
+        jdbcTemplate.update("update orders set reservation_expires_at = dateadd('MINUTE', -1, current_timestamp) where id = ?",
+                orderId);
+        assertThat(orderService.expireReservations(List.of(orderId))).isEqualTo(1);
+        assertThat(productRepository.findById(productId).orElseThrow().getStatus()).isEqualTo(ProductStatus.ACTIVE);
+        assertThat(count(categoryId)).isEqualTo(initial);
+    }
+
+    @Test
+    void deletedProductIsNotDecreasedOrCounted() {
+        Long categoryId = anyCategoryId();
+        Long productId = createProduct(categoryId, ProductStatus.DELETED);
+        Long memberId = fixtures.createMember().getId();
+        long initial = count(categoryId);
+
+        assertThatThrownBy(() -> orderService.createOrder(orderOf(productId), memberId, null))
+                .isInstanceOf(BusinessException.class);
+        assertThat(productRepository.findById(productId).orElseThrow().getStockQuantity()).isEqualTo(1);
+        assertThat(count(categoryId)).isEqualTo(initial);
+    }
+
+    private long count(Long categoryId) {
+        categoryProductCounter.flush();
+        return categoryProductCounter.counts().getOrDefault(categoryId, 0L);
+    }
+
+    private Long anyCategoryId() {
+        return jdbcTemplate.queryForObject("select min(id) from category", Long.class);
+    }
+
+    private Long createProduct(Long categoryId, ProductStatus status) {
+        return transactionTemplate.execute(tx -> productRepository.save(Product.builder()
+                .name("카테고리 집계 상품")
+                .price(1000L)
+                .stockQuantity(1)
+                .status(status)
+                .categoryId(categoryId)
+                .build()).getId());
+    }
+
+    private OrderCreateRequest orderOf(Long productId) {
+        return new OrderCreateRequest(null, List.of(new OrderItemRequest(productId, 1)), false, null);
+    }
+}
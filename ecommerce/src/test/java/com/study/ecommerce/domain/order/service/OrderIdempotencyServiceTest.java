@@ -0,0 +1,66 @@
+package com.study.ecommerce.domain.order.service;
+
+import com.study.ecommerce.domain.order.dto.OrderCreateRequest;
+import com.study.ecommerce.domain.order.dto.OrderCreateRequest.OrderItemRequest;
+import com.study.ecommerce.domain.order.dto.OrderResponse;
+import com.study.ecommerce.support.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderIdempotencyServiceTest {
+
+    @Autowired
+    private OrderIdempotencyService orderIdempotencyService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void retryWithSameKeyReturnsStoredOrder() {
+        Long memberId = fixtures.createMember().getId();
+        OrderCreateRequest request = orderOf(fixtures.createProduct(100));
+        String key = UUID.randomUUID().toString();
+
+        OrderResponse first = orderIdempotencyService.createOrder(request, memberId, key);
+        OrderResponse retry = orderIdempotencyService.createOrder(request, memberId, key);
+
+        assertThat(retry.id()).isEqualTo(first.id());
+    }
+
+    @Test
+    void expiredKeyNotYetSweptIsReplacedByNewOrder() {
+        Long memberId = fixtures.createMember().getId();
+        OrderCreateRequest request = orderOf(fixtures.createProduct(100));
+        //메모리 캐시를 거치지 않도록 키 row 를 직접 만들어 둔다 (만료됐지만 sweeper 가 아직 안 돈 상태)
+        String key = UUID.randomUUID().toString();
+        Long expiredOrderId = orderIdempotencyService.createOrder(request, memberId, null).id();
+        jdbcTemplate.update("insert into order_idempotency_key "
+                        + "(idempotency_key, member_id, order_id, order_status, total_amount, expires_at, created_at, updated_at) "
+                        + "values (?, ?, ?, 'CREATED', 1000, dateadd('HOUR', -1, current_timestamp), current_timestamp, current_timestamp)",
+                key, memberId, expiredOrderId);
+
+        OrderResponse response = orderIdempotencyService.createOrder(request, memberId, key);
+
+        assertThat(response.id()).isNotEqualTo(expiredOrderId);
+        Long storedOrderId = jdbcTemplate.queryForObject(
+                "select order_id from order_idempotency_key where idempotency_key = ?", Long.class, key);
+        assertThat(storedOrderId).isEqualTo(response.id());
+    }
+
+    private OrderCreateRequest orderOf(Long productId) {
+        return new OrderCreateRequest(null, List.of(new OrderItemRequest(productId, 1)), false, null);
+    }
+}
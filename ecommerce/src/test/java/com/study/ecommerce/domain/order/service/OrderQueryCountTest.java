@@ -0,0 +1,138 @@
+package com.study.ecommerce.domain.order.service;
+
+import com.study.ecommerce.domain.cart.entity.Cart;
+import com.study.ecommerce.domain.cart.entity.CartItem;
+import com.study.ecommerce.domain.cart.repository.CartItemRepository;
+import com.study.ecommerce.domain.cart.repository.CartRepository;
+import com.study.ecommerce.domain.cart.service.CartService;
+import com.study.ecommerce.domain.member.entity.Member;
+import com.study.ecommerce.domain.order.dto.OrderCreateRequest;
+import com.study.ecommerce.domain.order.dto.OrderCreateRequest.OrderItemRequest;
+import com.study.ecommerce.support.TestFixtures;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 주문 상세/장바구니 조회/주문 취소가 담긴 상품 수와 상관없이 같은 수의 SQL 만 실행하는지 고정 (N+1 회귀 방지)
+ * Hibernate Statistics 의 prepared statement 수로 센다
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderQueryCountTest {
+    private static final int FEW = 1;
+    private static final int MANY = 5;
+
+    //주문 조회, 회원 조회, 주문 상품 조회, 상품 IN 조회
+    private static final long ORDER_DETAIL_STATEMENTS = 4;
+    //장바구니 조회, 장바구니 상품 조회, 상품 IN 조회
+    private static final long CART_STATEMENTS = 3;
+    //주문 락, 주문 상품 조회, 상품 락(IN), 재고 UPDATE(배치), 주문 상태 UPDATE, outbox INSERT
+    private static final long CANCEL_STATEMENTS = 6;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    void getOrderDetailRunsConstantStatements() {
+        Member member = fixtures.createMember();
+        Long fewOrderId = createOrder(member.getId(), fixtures.createProducts(FEW, 100));
+        Long manyOrderId = createOrder(member.getId(), fixtures.createProducts(MANY, 100));
+
+        long few = count(() -> orderService.getOrderDetail(fewOrderId, member.getEmail()));
+        long many = count(() -> orderService.getOrderDetail(manyOrderId, member.getEmail()));
+
+        assertThat(few).isEqualTo(ORDER_DETAIL_STATEMENTS);
+        assertThat(many).isEqualTo(ORDER_DETAIL_STATEMENTS);
+    }
+
+    @Test
+    void getCartRunsConstantStatements() {
+        Member fewMember = fixtures.createMember();
+        Member manyMember = fixtures.createMember();
+        fillCart(fewMember.getId(), fixtures.createProducts(FEW, 100));
+        fillCart(manyMember.getId(), fixtures.createProducts(MANY, 100));
+
+        long few = count(() -> cartService.getCart(fewMember.getId()));
+        long many = count(() -> cartService.getCart(manyMember.getId()));
+
+        assertThat(few).isEqualTo(CART_STATEMENTS);
+        assertThat(many).isEqualTo(CART_STATEMENTS);
+    }
+
+    @Test
+    void cancelOrderRunsConstantStatements() {
+        Member member = fixtures.createMember();
+        Long fewOrderId = createOrder(member.getId(), fixtures.createProducts(FEW, 100));
+        Long manyOrderId = createOrder(member.getId(), fixtures.createProducts(MANY, 100));
+
+        long few = count(() -> orderService.cancelOrder(fewOrderId, member.getId()));
+        long many = count(() -> orderService.cancelOrder(manyOrderId, member.getId()));
+
+        //outbox id 블록(50개)을 다 쓴 경우에만 시퀀스 조회가 한 번 더 나간다
+        assertThat(few).isBetween(CANCEL_STATEMENTS, CANCEL_STATEMENTS + 1);
+        assertThat(many).isBetween(CANCEL_STATEMENTS, CANCEL_STATEMENTS + 1);
+    }
+
+    private long count(Runnable action) {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Long createOrder(Long memberId, List<Long> productIds) {
+        List<OrderItemRequest> items = productIds.stream()
+                .map(productId -> new OrderItemRequest(productId, 1))
+                .toList();
+        return orderService.createOrder(new OrderCreateRequest(null, items, false, null), memberId, null).id();
+    }
+
+    private void fillCart(Long memberId, List<Long> productIds) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Cart cart = cartRepository.findByMemberId(memberId).orElseThrow();
+            for (Long productId : productIds) {
+                cartItemRepository.save(CartItem.builder()
+                        .cartId(cart.getId())
+                        .productId(productId)
+                        .quantity(1)
+                        .build());
+            }
+        });
+    }
+}
@@ -0,0 +1,71 @@
+package com.study.ecommerce.domain.order.service;
+
+import com.study.ecommerce.domain.order.dto.OrderCreateRequest;
+import com.study.ecommerce.domain.order.dto.OrderCreateRequest.OrderItemRequest;
+import com.study.ecommerce.domain.order.entity.Order;
+import com.study.ecommerce.domain.order.entity.Order.OrderStatus;
+import com.study.ecommerce.domain.order.repository.OrderRepository;
+import com.study.ecommerce.domain.product.repository.ProductRepository;
+import com.study.ecommerce.support.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 비동기 결제 주문도 재고 점유 마감을 갖는지 검증
+ * 결제 작업이 유실되면 만료 처리가 재고를 원복하고, 결제가 끝난 주문은 만료 처리에서 건너뛴다
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderReservationTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void asyncPayNowOrderIsReservedAndPaidOrderIsNotExpired() throws InterruptedException {
+        Long productId = fixtures.createProduct(10);
+        Long memberId = fixtures.createMember().getId();
+        OrderCreateRequest request = new OrderCreateRequest(
+                null, List.of(new OrderItemRequest(productId, 1)), true, "CARD");
+
+        Long orderId = orderService.createOrder(request, memberId, null).id();
+        assertThat(orderRepository.findById(orderId).orElseThrow().getReservationExpiresAt()).isNotNull();
+
+        awaitStatus(orderId, OrderStatus.PAID);
+        jdbcTemplate.update("update orders set reservation_expires_at = dateadd('MINUTE', -1, current_timestamp) where id = ?",
+                orderId);
+
+        assertThat(orderService.expireReservations(List.of(orderId))).isZero();
+        assertThat(productRepository.findById(productId).orElseThrow().getStockQuantity()).isEqualTo(9);
+    }
+
+    //결제는 커밋 이후 결제 스레드풀에서 처리된다 (PG 지연 300ms)
+    private void awaitStatus(Long orderId, OrderStatus status) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        Order order = orderRepository.findById(orderId).orElseThrow();
+        while (order.getStatus() != status && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+            order = orderRepository.findById(orderId).orElseThrow();
+        }
+        assertThat(order.getStatus()).isEqualTo(status);
+    }
+}
@@ -0,0 +1,173 @@
+package com.study.ecommerce.domain.order.service;
+
+import com.study.ecommerce.domain.cart.entity.Cart;
+import com.study.ecommerce.domain.cart.entity.CartItem;
+import com.study.ecommerce.domain.cart.repository.CartItemRepository;
+import com.study.ecommerce.domain.cart.repository.CartRepository;
+import com.study.ecommerce.domain.order.dto.OrderCreateRequest;
+import com.study.ecommerce.domain.order.dto.OrderCreateRequest.OrderItemRequest;
+import com.study.ecommerce.domain.product.entity.Product;
+import com.study.ecommerce.domain.product.repository.ProductRepository;
+import com.study.ecommerce.support.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 여러 상품을 담은 주문이 서로 다른 순서로 같은 상품들을 동시에 주문해도
+ * 상품 락을 id 오름차순으로 한 번에 잡으므로(lockAllByIds) 데드락/락 타임아웃 없이 모두 처리되고 재고가 정확히 맞는지 확인
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderStockLockConcurrencyTest {
+    private static final int THREADS = 16;
+    private static final int ORDERS_PER_THREAD = 20;
+    private static final int PRODUCTS = 4;
+    private static final int INITIAL_STOCK = 100_000;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void overlappingCartOrdersInDifferentOrderDoNotDeadlock() throws Exception {
+        List<Long> productIds = fixtures.createProducts(PRODUCTS, INITIAL_STOCK);
+        List<Long> memberIds = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            memberIds.add(fixtures.createMember().getId());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                Long memberId = memberIds.get(t);
+                //스레드마다 상품을 담는 순서를 다르게 (정방향/역방향/회전)
+                List<Long> lineOrder = new ArrayList<>(productIds);
+                Collections.rotate(lineOrder, t);
+                if (t % 2 == 1) {
+                    Collections.reverse(lineOrder);
+                }
+
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    long[] ordered = new long[PRODUCTS];
+                    for (int i = 0; i < ORDERS_PER_THREAD; i++) {
+                        List<Long> cartItemIds = addToCart(memberId, lineOrder, productIds);
+                        orderService.createOrder(
+                                new OrderCreateRequest(cartItemIds, null, false, null), memberId, null);
+                        for (Long productId : lineOrder) {
+                            ordered[productIds.indexOf(productId)] += quantityOf(productId, productIds);
+                        }
+                    }
+                    return ordered;
+                }));
+            }
+
+            start.countDown();
+            long[] expected = new long[PRODUCTS];
+            for (Future<long[]> future : futures) {
+                long[] ordered = future.get(3, TimeUnit.MINUTES);
+                for (int p = 0; p < PRODUCTS; p++) {
+                    expected[p] += ordered[p];
+                }
+            }
+
+            for (int p = 0; p < PRODUCTS; p++) {
+                Product product = productRepository.findById(productIds.get(p)).orElseThrow();
+                assertThat(product.getStockQuantity()).isEqualTo(INITIAL_STOCK - expected[p]);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void overlappingDirectOrdersInDifferentOrderDoNotDeadlock() throws Exception {
+        List<Long> productIds = fixtures.createProducts(PRODUCTS, INITIAL_STOCK);
+        Long memberId = fixtures.createMember().getId();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                List<Long> lineOrder = new ArrayList<>(productIds);
+                if (t % 2 == 1) {
+                    Collections.reverse(lineOrder);
+                }
+                List<OrderItemRequest> items = lineOrder.stream()
+                        .map(productId -> new OrderItemRequest(productId, 1))
+                        .toList();
+
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < ORDERS_PER_THREAD; i++) {
+                        orderService.createOrder(new OrderCreateRequest(null, items, false, null), memberId, null);
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(3, TimeUnit.MINUTES);
+            }
+
+            for (Long productId : productIds) {
+                Product product = productRepository.findById(productId).orElseThrow();
+                assertThat(product.getStockQuantity()).isEqualTo(INITIAL_STOCK - THREADS * ORDERS_PER_THREAD);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    //상품마다 수량을 다르게 담아서 상품별 합계가 섞이면 드러나도록
+    private static int quantityOf(Long productId, List<Long> productIds) {
+        return productIds.indexOf(productId) + 1;
+    }
+
+    private List<Long> addToCart(Long memberId, List<Long> lineOrder, List<Long> productIds) {
+        return transactionTemplate.execute(status -> {
+            Cart cart = cartRepository.findByMemberId(memberId).orElseThrow();
+            List<Long> cartItemIds = new ArrayList<>();
+            for (Long productId : lineOrder) {
+                cartItemIds.add(cartItemRepository.save(CartItem.builder()
+                        .cartId(cart.getId())
+                        .productId(productId)
+                        .quantity(quantityOf(productId, productIds))
+                        .build()).getId());
+            }
+            return cartItemIds;
+        });
+    }
+}
@@ -0,0 +1,94 @@
+package com.study.ecommerce.domain.product.repository;
+
+import com.study.ecommerce.EcommerceApplication;
+import com.study.ecommerce.domain.product.entity.Product;
+import com.study.ecommerce.domain.product.entity.Product.ProductStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 트랜잭션 하나에서 500 행 INSERT 소요 시간 JMH 벤치마크 (H2, test 프로필)
+ * - jdbcBatchSize=1  : IDENTITY 처럼 행마다 INSERT 를 바로 실행하는 경로
+ * - jdbcBatchSize=50 : 시퀀스(allocationSize 50) + JDBC 배치
+ * 실행한 문장 수 검증은 ProductInsertBatchTest
+ *
+ * 실행: 테스트 클래스패스에서 main 메소드 실행 (JUnit 테스트 아님)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductInsertBatchBenchmark {
+    private static final int ROWS = 500;
+
+    @Param({"1", "50"})
+    private int jdbcBatchSize;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(EcommerceApplication.class)
+                .profiles("test")
+                .properties("server.port=0")
+                .run();
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(
+                context.getBean(EntityManagerFactory.class));
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Integer insertRows() {
+        return transactionTemplate.execute(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+            for (int i = 0; i < ROWS; i++) {
+                entityManager.persist(Product.builder()
+                        .name("배치 INSERT 상품 " + i)
+                        .price(1000L)
+                        .stockQuantity(10)
+                        .status(ProductStatus.DELETED)
+                        .build());
+            }
+            entityManager.flush();
+            entityManager.clear();
+            return ROWS;
+        });
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ProductInsertBatchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
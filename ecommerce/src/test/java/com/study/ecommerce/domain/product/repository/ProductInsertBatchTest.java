@@ -0,0 +1,115 @@
+package com.study.ecommerce.domain.product.repository;
+
+import com.study.ecommerce.domain.product.entity.Product;
+import com.study.ecommerce.domain.product.entity.Product.ProductStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 트랜잭션 하나에서 여러 행을 INSERT 할 때 실행되는 문장 수 검증
+ * before: IDENTITY 처럼 행마다 INSERT 를 바로 실행해야 하는 경로 (JDBC 배치 크기 1 로 재현)
+ * after : 시퀀스(allocationSize 50, pooled 옵티마이저) + hibernate.jdbc.batch_size 50
+ * 소요 시간 비교는 ProductInsertBatchBenchmark (JMH)
+ *
+ * 시퀀스는 테이블의 MAX(id) + 50 에서 시작하고 (INCREMENT BY 50) pooled 옵티마이저는 시퀀스 값을 블록의 상한으로 쓰므로
+ * 새 id 는 (시퀀스 값 - 49) 부터 나오고 기존 행과 겹치지 않는다
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ProductInsertBatchTest {
+    private static final int ROWS = 500;
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    void batchedInsertsPrepareOneStatementPerBatch() {
+        Result batched = insert(BATCH_SIZE);
+
+        //INSERT 는 50건마다 한 번, 시퀀스 조회도 50건마다 한 번
+        assertThat(batched.statements()).isLessThanOrEqualTo(2L * ROWS / BATCH_SIZE + 2);
+        assertThat(batched.rows()).isEqualTo(ROWS);
+    }
+
+    @Test
+    void pooledSequenceHandsOutIdsAboveExistingRows() {
+        Long maxIdBefore = entityManager.createQuery("select max(p.id) from Product p", Long.class).getSingleResult();
+        List<Long> ids = transactionTemplate.execute(status -> {
+            List<Long> result = new ArrayList<>();
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                Product product = newProduct(i);
+                entityManager.persist(product);
+                result.add(product.getId());
+            }
+            return result;
+        });
+
+        //한 블록은 (시퀀스 값 - 49) ~ 시퀀스 값 이고, 시퀀스는 MAX(id) + 50 에서 시작했으므로 기존 id 보다 크다
+        assertThat(ids).allSatisfy(id -> assertThat(id).isGreaterThan(maxIdBefore));
+        assertThat(ids).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void rowByRowInsertsPrepareOneStatementPerRow() {
+        Result rowByRow = insert(1);
+        Result batched = insert(BATCH_SIZE);
+
+        assertThat(rowByRow.statements()).isGreaterThanOrEqualTo(ROWS);
+        assertThat(batched.statements()).isLessThan(rowByRow.statements() / 10);
+    }
+
+    private Result insert(int jdbcBatchSize) {
+        statistics.clear();
+        Integer rows = transactionTemplate.execute(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+            for (int i = 0; i < ROWS; i++) {
+                entityManager.persist(newProduct(i));
+            }
+            entityManager.flush();
+            return ROWS;
+        });
+        return new Result(rows, statistics.getPrepareStatementCount());
+    }
+
+    private static Product newProduct(int i) {
+        return Product.builder()
+                .name("배치 INSERT 상품 " + i)
+                .price(1000L)
+                .stockQuantity(10)
+                .status(ProductStatus.DELETED)
+                .build();
+    }
+
+    private record Result(int rows, long statements) {
+    }
+}
@@ -0,0 +1,97 @@
+package com.study.ecommerce.domain.product.repository;
+
+import com.study.ecommerce.EcommerceApplication;
+import com.study.ecommerce.domain.product.entity.Product;
+import com.study.ecommerce.domain.product.entity.Product.ProductStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 재고 차감 처리량 JMH 벤치마크 (H2, test 프로필, 16 스레드가 같은 상품을 동시에 차감)
+ * - pessimisticLock : 기존 방식 (SELECT ... FOR UPDATE + 엔티티 차감 + 더티 체킹 UPDATE)
+ * - guardedUpdate   : 조건부 UPDATE 한 번 (decreaseStockQuantity)
+ * 초과 판매 검증은 ProductStockDecreaseConcurrencyTest
+ *
+ * 실행: 테스트 클래스패스에서 main 메소드 실행 (JUnit 테스트 아님)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(16)
+public class ProductStockDecreaseBenchmark {
+    //측정 중에 품절되지 않을 만큼
+    private static final int STOCK = 100_000_000;
+
+    private ConfigurableApplicationContext context;
+    private ProductRepository productRepository;
+    private TransactionTemplate transactionTemplate;
+    private Long productId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(EcommerceApplication.class)
+                .profiles("test")
+                .properties("server.port=0")
+                .run();
+        productRepository = context.getBean(ProductRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+    }
+
+    //반복마다 새 상품 (이전 반복의 row 상태가 다음 측정에 영향을 주지 않도록)
+    @Setup(Level.Iteration)
+    public void createProduct() {
+        productId = transactionTemplate.execute(status -> productRepository.save(Product.builder()
+                .name("재고 벤치마크 상품")
+                .price(1000L)
+                .stockQuantity(STOCK)
+                .status(ProductStatus.ACTIVE)
+                .build()).getId());
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Integer guardedUpdate() {
+        return transactionTemplate.execute(status -> productRepository.decreaseStockQuantity(productId, 1));
+    }
+
+    @Benchmark
+    public Boolean pessimisticLock() {
+        return transactionTemplate.execute(status -> {
+            Product product = productRepository.findByIdWithPessimisticLock(productId).orElseThrow();
+            product.decreaseStockQuantity(1);
+            return true;
+        });
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ProductStockDecreaseBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,116 @@
+package com.study.ecommerce.domain.product.repository;
+
+import com.study.ecommerce.domain.product.entity.Product;
+import com.study.ecommerce.support.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 재고 차감 H2 동시성 테스트
+ * 기존 방식(SELECT ... FOR UPDATE + 엔티티 차감 + 더티 체킹 UPDATE) 과
+ * 조건부 UPDATE 한 번(decreaseStockQuantity) 을 같은 부하로 돌려서 초과 판매가 없는지 확인한다
+ * 처리량 비교는 ProductStockDecreaseBenchmark (JMH)
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ProductStockDecreaseConcurrencyTest {
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 50;
+    //시도 수보다 재고가 적어야 품절 경계에서 초과 판매 여부가 드러난다
+    private static final int STOCK = THREADS * ATTEMPTS_PER_THREAD / 2;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void guardedUpdateNeverOversells() throws Exception {
+        Long productId = fixtures.createProduct(STOCK);
+
+        int sold = run(() -> decreaseWithGuardedUpdate(productId));
+
+        assertSoldOut(productId, sold);
+    }
+
+    @Test
+    void pessimisticLockNeverOversells() throws Exception {
+        Long productId = fixtures.createProduct(STOCK);
+
+        int sold = run(() -> decreaseWithPessimisticLock(productId));
+
+        assertSoldOut(productId, sold);
+    }
+
+    //새 방식: 조건부 UPDATE 한 번, 갱신 row 수로 성공 여부 판단
+    private boolean decreaseWithGuardedUpdate(Long productId) {
+        Integer updated = transactionTemplate.execute(status -> productRepository.decreaseStockQuantity(productId, 1));
+        return updated != null && updated == 1;
+    }
+
+    //기존 방식: 상품 row 락 -> 재고 확인 -> 엔티티 차감 (커밋 시 더티 체킹 UPDATE)
+    private boolean decreaseWithPessimisticLock(Long productId) {
+        Boolean decreased = transactionTemplate.execute(status -> {
+            Product product = productRepository.findByIdWithPessimisticLock(productId).orElseThrow();
+            if (product.getStockQuantity() < 1) {
+                return false;
+            }
+            product.decreaseStockQuantity(1);
+            return true;
+        });
+        return Boolean.TRUE.equals(decreased);
+    }
+
+    private int run(Callable<Boolean> attempt) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    int sold = 0;
+                    for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                        if (attempt.call()) {
+                            sold++;
+                        }
+                    }
+                    return sold;
+                }));
+            }
+
+            start.countDown();
+            int sold = 0;
+            for (Future<Integer> future : futures) {
+                sold += future.get(2, TimeUnit.MINUTES);
+            }
+            return sold;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void assertSoldOut(Long productId, int sold) {
+        Product product = productRepository.findById(productId).orElseThrow();
+        assertThat(sold).isEqualTo(STOCK);
+        assertThat(product.getStockQuantity()).isZero();
+    }
+}
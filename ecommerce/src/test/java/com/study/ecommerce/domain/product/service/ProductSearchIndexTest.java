@@ -0,0 +1,149 @@
+package com.study.ecommerce.domain.product.service;
+
+import com.study.ecommerce.domain.product.dto.req.ProductSearchCondition;
+import com.study.ecommerce.domain.product.dto.resp.ProductCursorResponse;
+import com.study.ecommerce.domain.product.dto.resp.ProductSearchResult;
+import com.study.ecommerce.domain.product.dto.resp.ProductSummaryDto;
+import com.study.ecommerce.domain.product.entity.Product;
+import com.study.ecommerce.domain.product.entity.Product.ProductStatus;
+import com.study.ecommerce.domain.product.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 색인 키워드 검색과 색인 리스너 검증
+ * 색인은 일치 상품을 잘라내지 않고, 조건은 집계 스냅샷 컬럼으로 메모리에서 건다
+ * 스냅샷 이후 추가된 상품(DB 에서 컬럼을 따로 읽음)과 스냅샷에 들어간 상품 모두 같은 결과가 나와야 한다
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ProductSearchIndexTest {
+    private static final int EXPENSIVE = 10;
+    private static final int CHEAP = 2;
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductFacetCacheLoader productFacetCacheLoader;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void filteredSearchIsNotTruncated() {
+        String keyword = keyword();
+        //비싼 상품은 이름에 (관련도 상위), 싼 상품은 설명에만 키워드 (관련도 하위 -> 잘라내면 빠진다)
+        for (int i = 0; i < EXPENSIVE; i++) {
+            createProduct(keyword + " 상품 " + i, null, 50_000L);
+        }
+        for (int i = 0; i < CHEAP; i++) {
+            createProduct("저가 상품 " + i, "설명 " + keyword, 1_000L);
+        }
+
+        assertThat(productSearchIndex.isReady()).isTrue();
+        assertThat(productSearchIndex.search(keyword)).hasSize(EXPENSIVE + CHEAP);
+
+        //스냅샷 이후 추가된 상품
+        assertFilteredResults(keyword);
+        //스냅샷에 들어간 상품
+        productFacetCacheLoader.refresh();
+        assertFilteredResults(keyword);
+    }
+
+    @Test
+    void cursorPagesFollowPriceOrder() {
+        String keyword = keyword();
+        for (int i = 0; i < EXPENSIVE; i++) {
+            createProduct(keyword + " 상품 " + i, null, 1_000L * (i % 4 + 1));
+        }
+        ProductSearchCondition condition = new ProductSearchCondition(keyword, null, null, null, null, null);
+        Sort byPrice = Sort.by(Sort.Order.asc("price"));
+
+        List<ProductSummaryDto> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            ProductCursorResponse page = productService.searchProducts(condition, byPrice, cursor, 3, false);
+            seen.addAll(page.products());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertThat(seen).hasSize(EXPENSIVE);
+        assertThat(seen).extracting(ProductSummaryDto::id).doesNotHaveDuplicates();
+        assertThat(seen).extracting(ProductSummaryDto::price).isSorted();
+    }
+
+    private void assertFilteredResults(String keyword) {
+        ProductSearchCondition all = new ProductSearchCondition(keyword, null, null, null, null, null);
+        ProductSearchCondition cheap = new ProductSearchCondition(keyword, null, null, 2_000L, null, null);
+
+        ProductSearchResult allResult = productService.searchProducts(all, PageRequest.of(0, 20), Set.of());
+        ProductSearchResult cheapResult = productService.searchProducts(cheap, PageRequest.of(0, 20), Set.of());
+        assertThat(allResult.products().getTotalElements()).isEqualTo(EXPENSIVE + CHEAP);
+        assertThat(cheapResult.products().getTotalElements()).isEqualTo(CHEAP);
+
+        ProductCursorResponse cursor = productService.searchProducts(cheap, Sort.unsorted(), null, 20, true);
+        assertThat(cursor.products()).hasSize(CHEAP);
+        assertThat(cursor.approximateTotal()).isEqualTo(CHEAP);
+    }
+
+    @Test
+    void searchUsesIndex() {
+        String keyword = keyword();
+        createProduct(keyword + " 상품", null, 1_000L);
+        createProduct("다른 상품", "설명 " + keyword, 1_000L);
+
+        assertThat(productSearchIndex.search(keyword)).hasSize(2);
+    }
+
+    @Test
+    void stockOnlyUpdateSkipsIndex() {
+        Long productId = createProduct(keyword() + " 상품", null, 1_000L);
+
+        long before = productSearchIndex.version();
+        transactionTemplate.executeWithoutResult(status ->
+                productRepository.findById(productId).orElseThrow().decreaseStockQuantity(1));
+        assertThat(productSearchIndex.version()).isEqualTo(before);
+
+        String renamed = keyword();
+        transactionTemplate.executeWithoutResult(status -> {
+            Product product = productRepository.findById(productId).orElseThrow();
+            product.update(renamed + " 상품", null, product.getPrice(), product.getStockQuantity());
+        });
+        assertThat(productSearchIndex.version()).isGreaterThan(before);
+        assertThat(productSearchIndex.search(renamed)).containsExactly(productId);
+    }
+
+    private Long createProduct(String name, String description, Long price) {
+        return transactionTemplate.execute(status -> productRepository.save(Product.builder()
+                .name(name)
+                .description(description)
+                .price(price)
+                .stockQuantity(10)
+                .status(ProductStatus.ACTIVE)
+                .build()).getId());
+    }
+
+    //다른 테스트 데이터와 겹치지 않는 검색어
+    private String keyword() {
+        return "kw" + UUID.randomUUID().toString().replace("-", "").substring(0, 10);
+    }
+}
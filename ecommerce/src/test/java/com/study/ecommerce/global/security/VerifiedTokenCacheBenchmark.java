@@ -0,0 +1,154 @@
+package com.study.ecommerce.global.security;
+
+import com.study.ecommerce.global.security.VerifiedTokenCache.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 토큰 검증 캐시 JMH 벤치마크 (8 스레드가 같은 토큰 집합을 동시에 조회)
+ * - parse                   : 캐시 없이 매 요청 서명 검증 + 클레임 파싱
+ * - synchronizedDigestCache : 이전 구현 (SHA-256 다이제스트 키 + 전역 synchronized LinkedHashMap LRU)
+ * - concurrentDigestCache   : 현재 구현 (SHA-256 다이제스트 키 + ConcurrentHashMap)
+ *
+ * 실행: 테스트 클래스패스에서 main 메소드 실행 (JUnit 테스트 아님)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class VerifiedTokenCacheBenchmark {
+    private static final String SECRET = "benchmark-secret-key-benchmark-secret-key-0123456789";
+    private static final int TOKENS = 1_000;
+
+    private String[] tokens;
+    private JwtParser parser;
+    private VerifiedTokenCache concurrentCache;
+    private SynchronizedDigestCache synchronizedCache;
+
+    @Setup
+    public void setUp() {
+        Key key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parserBuilder().setSigningKey(key).build();
+
+        concurrentCache = new VerifiedTokenCache();
+        ReflectionTestUtils.setField(concurrentCache, "cacheSize", 10_000);
+        synchronizedCache = new SynchronizedDigestCache(10_000);
+
+        long expiresAt = System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1);
+        tokens = new String[TOKENS];
+        for (int i = 0; i < TOKENS; i++) {
+            Claims claims = Jwts.claims().setSubject("user" + i + "@example.com");
+            claims.put("memberId", (long) i);
+            claims.put("roles", List.of("CUSTOMER"));
+            tokens[i] = Jwts.builder()
+                    .setClaims(claims)
+                    .setExpiration(new Date(expiresAt))
+                    .signWith(key, SignatureAlgorithm.HS256)
+                    .compact();
+
+            VerifiedToken verified = new VerifiedToken("user" + i + "@example.com", (long) i, List.of("CUSTOMER"), expiresAt);
+            concurrentCache.put(tokens[i], verified);
+            synchronizedCache.put(tokens[i], verified);
+        }
+    }
+
+    @Benchmark
+    public Object parse() {
+        return parser.parseClaimsJws(nextToken()).getBody();
+    }
+
+    @Benchmark
+    public Object synchronizedDigestCache() {
+        return synchronizedCache.get(nextToken());
+    }
+
+    @Benchmark
+    public Object concurrentDigestCache() {
+        return concurrentCache.get(nextToken());
+    }
+
+    private String nextToken() {
+        return tokens[ThreadLocalRandom.current().nextInt(TOKENS)];
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(VerifiedTokenCacheBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    //비교용 이전 구현
+    static class SynchronizedDigestCache {
+        private final Map<String, VerifiedToken> cache;
+
+        SynchronizedDigestCache(int cacheSize) {
+            this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+                    return size() > cacheSize;
+                }
+            };
+        }
+
+        VerifiedToken get(String token) {
+            String digest = digest(token);
+            synchronized (cache) {
+                VerifiedToken verified = cache.get(digest);
+                if (verified != null && verified.isExpired(System.currentTimeMillis())) {
+                    cache.remove(digest);
+                    return null;
+                }
+                return verified;
+            }
+        }
+
+        void put(String token, VerifiedToken verified) {
+            String digest = digest(token);
+            synchronized (cache) {
+                cache.put(digest, verified);
+            }
+        }
+
+        private String digest(String token) {
+            try {
+                MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+                return Base64.getEncoder().encodeToString(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
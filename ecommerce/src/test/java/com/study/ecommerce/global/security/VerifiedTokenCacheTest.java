@@ -0,0 +1,44 @@
+package com.study.ecommerce.global.security;
+
+import com.study.ecommerce.global.security.VerifiedTokenCache.VerifiedToken;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerifiedTokenCacheTest {
+    private static final int CACHE_SIZE = 100;
+
+    @Test
+    void fullCacheEvictsInsteadOfRefusingNewTokens() {
+        VerifiedTokenCache cache = new VerifiedTokenCache();
+        ReflectionTestUtils.setField(cache, "cacheSize", CACHE_SIZE);
+
+        //만료되지 않은 토큰으로 가득 채운 뒤에도 새 토큰은 캐시된다
+        long expiresAt = System.currentTimeMillis() + TimeUnit.HOURS.toMillis(24);
+        for (int i = 0; i < CACHE_SIZE * 3; i++) {
+            cache.put("token-" + i, verified(i, expiresAt + i));
+        }
+
+        String latest = "token-" + (CACHE_SIZE * 3 - 1);
+        assertThat(cache.get(latest)).isNotNull();
+        assertThat(cache.size()).isLessThanOrEqualTo(CACHE_SIZE);
+    }
+
+    @Test
+    void expiredTokenIsNotReturned() {
+        VerifiedTokenCache cache = new VerifiedTokenCache();
+        ReflectionTestUtils.setField(cache, "cacheSize", CACHE_SIZE);
+
+        cache.put("expired", verified(1, System.currentTimeMillis() - 1));
+
+        assertThat(cache.get("expired")).isNull();
+    }
+
+    private VerifiedToken verified(long memberId, long expiresAtMs) {
+        return new VerifiedToken("user" + memberId + "@example.com", memberId, List.of("CUSTOMER"), expiresAtMs);
+    }
+}
@@ -0,0 +1,154 @@
+package com.study.ecommerce.infra.outbox.service;
+
+import com.study.ecommerce.infra.outbox.entity.OutboxEvent;
+import com.study.ecommerce.infra.outbox.entity.OutboxEvent.AggregateType;
+import com.study.ecommerce.infra.outbox.entity.OutboxEvent.EventType;
+import com.study.ecommerce.infra.outbox.repository.OutboxEventRepository;
+import com.study.ecommerce.infra.outbox.sink.OutboxEventSink;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 인메모리 sink 로 relay 의 전달/순서/재시도 동작 확인
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(OutboxRelayTest.InMemorySinkConfig.class)
+class OutboxRelayTest {
+    //다른 테스트가 남긴 이벤트와 섞이지 않도록 큰 aggregate id 사용
+    private static final AtomicLong AGGREGATE_IDS = new AtomicLong(9_000_000_000L);
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private InMemoryOutboxSink sink;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        sink.clear();
+    }
+
+    @Test
+    void relayPublishesEachAggregateInOrderAndMarksPublished() {
+        Long first = AGGREGATE_IDS.incrementAndGet();
+        Long second = AGGREGATE_IDS.incrementAndGet();
+        List<Long> firstIds = record(first, EventType.ORDER_PAID, EventType.ORDER_CANCELED, EventType.ORDER_PAID);
+        List<Long> secondIds = record(second, EventType.ORDER_PAID, EventType.ORDER_CANCELED);
+
+        outboxRelay.relay();
+
+        assertThat(sink.publishedIds(first)).containsExactlyElementsOf(firstIds);
+        assertThat(sink.publishedIds(second)).containsExactlyElementsOf(secondIds);
+        assertThat(outboxEventRepository.findAllById(firstIds))
+                .allSatisfy(event -> assertThat(event.getPublishedAt()).isNotNull());
+        assertThat(outboxEventRepository.findAllById(secondIds))
+                .allSatisfy(event -> assertThat(event.getPublishedAt()).isNotNull());
+    }
+
+    @Test
+    void failedEventHoldsBackLaterEventsOfSameAggregateUntilNextRelay() {
+        Long failing = AGGREGATE_IDS.incrementAndGet();
+        Long healthy = AGGREGATE_IDS.incrementAndGet();
+        List<Long> failingIds = record(failing, EventType.ORDER_PAID, EventType.ORDER_CANCELED, EventType.ORDER_PAID);
+        List<Long> healthyIds = record(healthy, EventType.ORDER_PAID, EventType.ORDER_CANCELED);
+        sink.failOn(failingIds.get(1));
+
+        outboxRelay.relay();
+
+        //실패한 이벤트 뒤는 전달하지 않고, 다른 aggregate 는 영향 없음
+        assertThat(sink.publishedIds(failing)).containsExactly(failingIds.get(0));
+        assertThat(sink.publishedIds(healthy)).containsExactlyElementsOf(healthyIds);
+        assertThat(outboxEventRepository.findById(failingIds.get(1)).orElseThrow().getPublishedAt()).isNull();
+        assertThat(outboxEventRepository.findById(failingIds.get(2)).orElseThrow().getPublishedAt()).isNull();
+
+        sink.recover();
+        outboxRelay.relay();
+
+        //다음 주기에 남은 이벤트를 원래 순서대로 전달 (이미 전달된 이벤트는 다시 보내지 않음)
+        assertThat(sink.publishedIds(failing)).containsExactlyElementsOf(failingIds);
+        assertThat(sink.publishedIds(healthy)).containsExactlyElementsOf(healthyIds);
+        assertThat(outboxEventRepository.findAllById(failingIds))
+                .allSatisfy(event -> assertThat(event.getPublishedAt()).isNotNull());
+    }
+
+    private List<Long> record(Long aggregateId, EventType... eventTypes) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (EventType eventType : eventTypes) {
+                outboxService.record(AggregateType.ORDER, aggregateId, eventType, Map.of("orderId", aggregateId));
+            }
+        });
+        return outboxEventRepository.findAll().stream()
+                .filter(event -> event.getAggregateId().equals(aggregateId))
+                .map(OutboxEvent::getId)
+                .sorted()
+                .toList();
+    }
+
+    @TestConfiguration
+    static class InMemorySinkConfig {
+        @Bean
+        InMemoryOutboxSink inMemoryOutboxSink() {
+            return new InMemoryOutboxSink();
+        }
+    }
+
+    /**
+     * 전달된 이벤트를 aggregate 별로 기록하는 sink, 지정한 이벤트에서는 실패
+     */
+    static class InMemoryOutboxSink implements OutboxEventSink {
+        private final Map<Long, List<Long>> published = new ConcurrentHashMap<>();
+        private final Set<Long> failingIds = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public void publish(OutboxEvent event) {
+            if (failingIds.contains(event.getId())) {
+                throw new IllegalStateException("sink 전달 실패 id=" + event.getId());
+            }
+            published.computeIfAbsent(event.getAggregateId(), key -> new CopyOnWriteArrayList<>()).add(event.getId());
+        }
+
+        List<Long> publishedIds(Long aggregateId) {
+            return new ArrayList<>(published.getOrDefault(aggregateId, List.of()));
+        }
+
+        void failOn(Long eventId) {
+            failingIds.add(eventId);
+        }
+
+        void recover() {
+            failingIds.clear();
+        }
+
+        void clear() {
+            published.clear();
+            failingIds.clear();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.study.ecommerce.support;
+
+import com.study.ecommerce.domain.cart.entity.Cart;
+import com.study.ecommerce.domain.cart.repository.CartRepository;
+import com.study.ecommerce.domain.member.entity.Member;
+import com.study.ecommerce.domain.member.repository.MemberRepository;
+import com.study.ecommerce.domain.product.entity.Product;
+import com.study.ecommerce.domain.product.entity.Product.ProductStatus;
+import com.study.ecommerce.domain.product.repository.ProductRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 통합 테스트 공용 데이터 생성 (호출마다 별도 트랜잭션으로 커밋)
+ */
+@Component
+public class TestFixtures {
+    private final ProductRepository productRepository;
+    private final MemberRepository memberRepository;
+    private final CartRepository cartRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public TestFixtures(ProductRepository productRepository, MemberRepository memberRepository,
+                        CartRepository cartRepository, TransactionTemplate transactionTemplate) {
+        this.productRepository = productRepository;
+        this.memberRepository = memberRepository;
+        this.cartRepository = cartRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    //판매중 상품 (가격 1000)
+    public Long createProduct(int stock) {
+        return createProducts(1, stock).get(0);
+    }
+
+    //판매중 상품 count 개 (id 오름차순)
+    public List<Long> createProducts(int count, int stock) {
+        return transactionTemplate.execute(status -> {
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                ids.add(productRepository.save(Product.builder()
+                        .name("테스트 상품 " + i)
+                        .price(1000L)
+                        .stockQuantity(stock)
+                        .status(ProductStatus.ACTIVE)
+                        .build()).getId());
+            }
+            Collections.sort(ids);
+            return ids;
+        });
+    }
+
+    //고객 회원 + 빈 장바구니 (이메일은 매번 새로 만든다)
+    public Member createMember() {
+        return transactionTemplate.execute(status -> {
+            Member member = memberRepository.save(Member.builder()
+                    .email(UUID.randomUUID() + "@example.com")
+                    .password("password")
+                    .name("테스트 고객")
+                    .role(Member.Role.CUSTOMER)
+                    .build());
+            cartRepository.save(new Cart(member.getId()));
+            return member;
+        });
+    }
+}